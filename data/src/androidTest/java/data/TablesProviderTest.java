@@ -0,0 +1,102 @@
+/*
+ * TablesProviderTest.java
+ * data
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package data;
+
+import android.content.ContentUris;
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.net.Uri;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import proguard.annotation.Keep;
+import proguard.annotation.KeepPublicClassMembers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link TablesProvider} Tests.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@Keep@KeepPublicClassMembers
+@RunWith(AndroidJUnit4.class)
+public final class TablesProviderTest {
+
+    /** Test authority. */
+    private static final String AUTHORITY = "data.test";
+
+    /** Test database. */
+    private static final String DATABASE = "tables-test.db";
+
+    /** The provider. */
+    private TablesProvider mProvider = null;
+
+    public TablesProviderTest() {super();}
+
+    @Before public final void setUp() {
+        InstrumentationRegistry.getTargetContext().deleteDatabase(DATABASE);
+        mProvider = new TablesProvider(InstrumentationRegistry.getTargetContext(),
+            AUTHORITY, DATABASE, 1, 0, new String[] {"prefs", "items"});
+        assertTrue(mProvider.onCreate());
+    }
+
+    @After public final void tearDown() {
+        mProvider.shutdown();
+        InstrumentationRegistry.getTargetContext().deleteDatabase(DATABASE);
+    }
+
+    @Test
+    public final void testPutSameKeyTwice() {
+        final Uri uri = ContentUris.withAppendedId(new Uri.Builder()
+            .scheme("content").authority(AUTHORITY).path("items").build(),
+            DataSource.keyToId("key"));
+        mProvider.upsert(uri, values(new byte[] {1}));
+        mProvider.upsert(uri, values(new byte[] {2}));
+        try (Cursor cursor = mProvider.query(uri, null, null, null, null)) {
+            assertTrue(cursor.moveToFirst());
+            assertArrayEquals(new byte[] {2},
+                cursor.getBlob(cursor.getColumnIndexOrThrow(DatabaseTable.DATA_COLUMN)));
+            assertTrue(cursor.isLast());
+        }
+    }
+
+    /**
+     * @param data row data
+     * @return row values
+     */
+    private static ContentValues values(byte[] data) {
+        final ContentValues result = new ContentValues();
+        result.put(DatabaseTable.DATA_COLUMN, data); return result;
+    }
+}
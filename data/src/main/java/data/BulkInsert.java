@@ -27,18 +27,27 @@ package data;
 
 import android.content.ContentValues;
 import android.net.Uri;
+import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.WorkerThread;
 
+import java.util.Map;
+
 import proguard.annotation.Keep;
 import proguard.annotation.KeepPublicProtectedClassMembers;
 
 import static data.DataSource.DATA;
-import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
 
 /**
  * Bulk Insert of data.
  *
+ * <p>Rows are collected into a growing buffer with amortized constant cost.
+ * A streaming builder (see {@link DataResource#bulkInsert(DataSource, int,
+ * long)}) flushes the collected rows to the provider as soon as the row or
+ * byte limit is reached, so memory stays bounded for very large imports.
+ *
  * @author Nikitenko Gleb
  * @since 1.0, 01/07/2018
  */
@@ -47,14 +56,29 @@ import static java.lang.System.arraycopy;
 @SuppressWarnings("unused")
 public final class BulkInsert {
 
+  /** Initial capacity of the buffer. */
+  private static final int CAPACITY = 16;
+  /** Estimated size of a non-blob value. */
+  private static final int VALUE_SIZE = 8;
+
   /** Data source. */
   private final DataSource mDataSource;
 
   /** Content uri. */
   private final Uri mContentUri;
 
+  /** Rows and bytes limits of the buffer. */
+  private final int mMaxRows; private final long mMaxBytes;
+
   /** Content values. */
-  private ContentValues[] mContentValues;
+  private ContentValues[] mContentValues = new ContentValues[0];
+
+  /** Buffered rows. */
+  private int mSize = 0;
+  /** Estimated size of buffered rows. */
+  private long mBytes = 0;
+  /** Rows inserted by the flushes. */
+  private int mInserted = 0;
 
   /**
    * Constructs a new {@link BulkInsert}.
@@ -62,27 +86,55 @@ public final class BulkInsert {
    * @param source data source
    * @param uri    content uri
    */
-  BulkInsert(@NonNull DataSource source, @NonNull Uri uri) {
-    mDataSource = source;
-    mContentUri = uri;
-    mContentValues = new ContentValues[0];
+  BulkInsert(@NonNull DataSource source, @NonNull Uri uri)
+  {this(source, uri, Integer.MAX_VALUE, Long.MAX_VALUE);}
+
+  /**
+   * Constructs a new streaming {@link BulkInsert}.
+   *
+   * @param source data source
+   * @param uri    content uri
+   * @param rows   maximum rows to buffer before flush
+   * @param bytes  maximum estimated bytes to buffer before flush
+   */
+  BulkInsert(@NonNull DataSource source, @NonNull Uri uri,
+      @IntRange(from = 1) int rows, @IntRange(from = 1) long bytes) {
+    if (rows < 1 || bytes < 1) throw new IllegalArgumentException();
+    mDataSource = source; mContentUri = uri; mMaxRows = rows; mMaxBytes = bytes;
   }
 
   /**
-   * @param values source array of values
-   * @param value  new value
+   * @param values content values
    *
-   * @return result array of values
+   * @return estimated size of values in bytes
    */
-  @NonNull private static ContentValues[] addValue
-  (@NonNull ContentValues[] values, @NonNull ContentValues value) {
-    final ContentValues[] result = new ContentValues[values.length + 1];
-    arraycopy(values, 0, result, 0, values.length);
-    result[values.length] = value;
+  private static long sizeOf(@NonNull ContentValues values) {
+    long result = 0;
+    for (final Map.Entry<String, Object> entry : values.valueSet()) {
+      final Object value = entry.getValue(); result += entry.getKey().length();
+      result += value instanceof byte[] ? ((byte[]) value).length :
+          value instanceof String ? ((String) value).length() * 2 : VALUE_SIZE;
+    }
     return result;
   }
 
   /**
+   * Adds a row and flushes the buffer if any limit has been reached.
+   *
+   * @param values content values
+   * @param bytes  estimated size of values
+   */
+  private void add(@NonNull ContentValues values, long bytes) {
+    if (mSize == mContentValues.length) mContentValues = copyOf(mContentValues,
+        (int) Math.max(CAPACITY, Math.min(mSize + (mSize >> 1), (long) mMaxRows)));
+    mContentValues[mSize++] = values; mBytes += bytes;
+    if (mSize >= mMaxRows || mBytes >= mMaxBytes) flush();
+  }
+
+  /**
+   * Streaming builders may flush to the provider here,
+   * so they should be filled on a worker thread.
+   *
    * @param value raw data
    *
    * @return this builder, to allow for chaining.
@@ -90,7 +142,7 @@ public final class BulkInsert {
   @NonNull public final BulkInsert put(@NonNull byte[] value) {
     final ContentValues values = new ContentValues(1);
     values.put(DATA, value);
-    mContentValues = addValue(mContentValues, values);
+    add(values, DATA.length() + value.length);
     return this;
   }
 
@@ -100,13 +152,30 @@ public final class BulkInsert {
    * @return this builder, to allow for chaining.
    */
   @NonNull final BulkInsert put(@NonNull ContentValues values) {
-    mContentValues = addValue(mContentValues, values);
+    add(values, mMaxBytes == Long.MAX_VALUE ? 0 : sizeOf(values));
     return this;
   }
 
+  /** @return count of buffered rows, not yet sent to the provider */
+  public final int pending() {return mSize;}
+
+  /** @return count of rows inserted by the previous flushes */
+  public final int inserted() {return mInserted;}
+
+  /** Sends the buffered rows to the provider. */
+  @WorkerThread
+  public final void flush() {
+    if (mSize == 0) return;
+    mInserted += mDataSource.bulkInsert(mContentUri, mSize == mContentValues.length ?
+        mContentValues : copyOf(mContentValues, mSize));
+    fill(mContentValues, 0, mSize, null); mSize = 0; mBytes = 0;
+  }
+
   /** @return count of rows */
   @WorkerThread
-  public final int execute()
-  {return mDataSource.bulkInsert(mContentUri, mContentValues);}
+  public final int execute() {
+    flush(); final int result = mInserted;
+    mInserted = 0; return result;
+  }
 
 }
@@ -60,6 +60,8 @@ import proguard.annotation.KeepPublicProtectedClassMembers;
 
 import static android.content.ContentResolver.SCHEME_CONTENT;
 import static android.text.TextUtils.isEmpty;
+import static data.Provider.cutUpsert;
+import static data.Provider.isUpsert;
 import static data.Provider.stub;
 
 /**
@@ -115,6 +117,15 @@ public final class ContentProvider extends
     return meta.getInt("database.version", 1);
   }
 
+  /**
+   * @param meta content provider meta-data
+   *
+   * @return group commit window in milliseconds, 0 if disabled
+   */
+  private static int getDatabaseGroupCommit(@NonNull Bundle meta) {
+    return meta.getInt("database.group_commit", 0);
+  }
+
   /**
    * @param meta content provider meta-data
    *
@@ -162,9 +173,10 @@ public final class ContentProvider extends
     final String name = getDatabaseName(meta);
     final int version = getDatabaseVersion(meta);
     final String[] tables = getDatabaseTables(meta);
+    final int window = getDatabaseGroupCommit(meta);
     final String authority = info.authority;
     final String host = getHttpsHost(meta);
-    create(context, authority, name, version, tables, host, mProviders);
+    create(context, authority, name, version, window, tables, host, mProviders);
     return true;
   }
 
@@ -174,7 +186,8 @@ public final class ContentProvider extends
   public final Uri insert(@NonNull Uri uri, @Nullable ContentValues values) {
     uri = uncanonicalize(uri);
     final Provider storage = mProviders.get(uri.getScheme());
-    return storage == null ? stub(uri) : storage.insert(uri, values);
+    return storage == null ? stub(uri) : !isUpsert(uri) ?
+        storage.insert(uri, values) : storage.upsert(cutUpsert(uri), values);
   }
 
   /** {@inheritDoc} */
@@ -378,12 +391,12 @@ public final class ContentProvider extends
 
   /** Create child providers. */
   private void create(@NonNull Context context, @NonNull String authority,
-      @NonNull String name, int version, @NonNull String[] tables,
+      @NonNull String name, int version, int window, @NonNull String[] tables,
       @NonNull String host, @NonNull Map<String, Provider> map) {
     map.put("https", new HttpsProvider(context, host));
     map.put("files", new FilesProvider(context, authority, version));
     map.put("assets", new AssetsProvider(context, authority, version));
-    map.put("tables", new TablesProvider(context, authority, name, version, tables));
+    map.put("tables", new TablesProvider(context, authority, name, version, window, tables));
     final Collection<Provider> providers = map.values();
     for (final Provider storage : providers) { storage.onCreate(); }
   }
@@ -317,6 +317,17 @@ public final class DataResource {
   @NonNull public final BulkInsert bulkInsert(@NonNull DataSource source)
   {return new BulkInsert(source, uri);}
 
+  /**
+   * @param source  data source
+   * @param rows    rows to flush after
+   * @param bytes   estimated bytes to flush after
+   *
+   * @return streaming bulk insert
+   */
+  @NonNull public final BulkInsert bulkInsert
+  (@NonNull DataSource source, int rows, long bytes)
+  {return new BulkInsert(source, uri, rows, bytes);}
+
   /**
    * @param source        data source
    * @param sel     selection string
@@ -345,17 +345,14 @@ import static java.util.Objects.requireNonNull;
   /** {@inheritDoc} */
   @WorkerThread final void
   put(@NonNull Uri uri, @NonNull byte[] raw) {
-    final boolean update; long id;
+    long id;
     try {id = parseId(uri);} catch (NumberFormatException exception) {id = -1;}
-    if (id != -1) {
-      final Cursor cursor = cursor(uri, new String[] { BaseColumns._ID });
-      update = cursor.getCount() == 1; cursor.close();
-    } else update = false;
     final ContentValues values = new ContentValues();
     if (id != -1) values.put(BaseColumns._ID, id);
     values.put(DATA, raw);
-    try {if (!update) mClient.insert(uri, values);
-    else mClient.update(uri, values, null, null);}
+    if (id != -1) uri = uri.buildUpon()
+        .appendQueryParameter(Provider.UPSERT, Boolean.TRUE.toString()).build();
+    try {mClient.insert(uri, values);}
     catch (RemoteException ignored) {}
   }
 
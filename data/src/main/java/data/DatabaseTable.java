@@ -97,6 +97,18 @@ final class DatabaseTable {
   private static final String TABLE_REMOVE_SCRIPT = "DROP TABLE IF EXISTS '%s';";
   /** The script for insert operation. */
   private static final String INSERT_SCRIPT = "INSERT INTO '%s' VALUES (?,?);";
+  /** The script for upsert operation. */
+  private static final String UPSERT_SCRIPT = "INSERT OR REPLACE INTO '%s' VALUES (?,?);";
+  /** The script for multi-row insert operation. */
+  private static final String INSERT_ROWS_SCRIPT = "INSERT INTO '%s' VALUES ";
+  /** The values of one row. */
+  private static final String ROW_VALUES = "(?,?)";
+  /** Count of columns. */
+  private static final int COLUMNS = 2;
+  /** Default SQLITE_MAX_VARIABLE_NUMBER. */
+  private static final int MAX_VARIABLES = 999;
+  /** Rows per multi-row insert statement. */
+  static final int BULK_ROWS = Math.min(256, MAX_VARIABLES / COLUMNS);
   /** Provider writable columns. */
   public final Set<String> providerColumns;
   /** Sync writable columns. */
@@ -125,6 +137,10 @@ final class DatabaseTable {
   private String mContentItemType = null;
   /** Insert statement */
   private SQLiteStatement mInsertStatement = null;
+  /** Upsert statement */
+  private SQLiteStatement mUpsertStatement = null;
+  /** Multi-row insert statement of {@link #BULK_ROWS} rows */
+  private SQLiteStatement mBulkStatement = null;
   /** Delete statement */
   private SQLiteStatement mDeleteStatement = null;
   /** Get statement */
@@ -299,6 +315,83 @@ final class DatabaseTable {
     return result;
   }
 
+  /**
+   * Insert new item or replace the existing one with the same id
+   *
+   * @param id     id of resource
+   * @param values insert values
+   *
+   * @return id of written row
+   */
+  public final long upsert(long id, @Nullable ContentValues values) {
+    if (values == null) throw new IllegalArgumentException("no values");
+    mUpsertStatement.clearBindings();
+    if (id != -1) mUpsertStatement.bindLong(1, id);
+    mUpsertStatement.bindBlob(2, values.getAsByteArray(DATA_COLUMN));
+    final long result = mUpsertStatement.executeInsert();
+    if (result == -1) throw new RuntimeException("Error upsert");
+    return result;
+  }
+
+  /**
+   * Insert new items to table by multi-row statements.
+   *
+   * @param values insert values
+   * @param from   first row, inclusive
+   * @param to     last row, exclusive
+   *
+   * @return count of inserted rows
+   */
+  public final int insert(@NonNull ContentValues[] values, int from, int to) {
+    int result = 0;
+    for (; to - from >= BULK_ROWS; from += BULK_ROWS) {
+      if (mBulkStatement == null)
+        mBulkStatement = mWritableDatabase.compileStatement(bulkScript(BULK_ROWS));
+      result += insert(mBulkStatement, values, from, BULK_ROWS);
+    }
+    if (from < to) {
+      final SQLiteStatement statement =
+          mWritableDatabase.compileStatement(bulkScript(to - from));
+      try {result += insert(statement, values, from, to - from);}
+      finally {statement.close();}
+    }
+    return result;
+  }
+
+  /**
+   * @param statement multi-row insert statement
+   * @param values    insert values
+   * @param from      first row
+   * @param count     count of rows
+   *
+   * @return count of inserted rows
+   */
+  private static int insert(@NonNull SQLiteStatement statement,
+      @NonNull ContentValues[] values, int from, int count) {
+    statement.clearBindings();
+    for (int i = 0; i < count; i++) {
+      final ContentValues row = values[from + i];
+      if (row == null) throw new IllegalArgumentException("no values");
+      final byte[] data = row.getAsByteArray(DATA_COLUMN);
+      if (data == null) throw new IllegalArgumentException("no data");
+      statement.bindBlob(i * COLUMNS + 2, data);
+    }
+    final int result = statement.executeUpdateDelete();
+    if (result != count) throw new RuntimeException("Error insertion");
+    return result;
+  }
+
+  /**
+   * @param rows count of rows
+   * @return multi-row insert script
+   */
+  @NonNull private String bulkScript(int rows) {
+    final StringBuilder builder = new StringBuilder
+        (script(INSERT_ROWS_SCRIPT)).append(ROW_VALUES);
+    for (int i = 1; i < rows; i++) builder.append(',').append(ROW_VALUES);
+    return builder.append(';').toString();
+  }
+
   /**
    * Delete item from table.
    *
@@ -381,6 +474,8 @@ final class DatabaseTable {
                + ID_SELECTION_WHERE + " LIMIT 1;");
     mInsertStatement = writableSQLiteDatabase.compileStatement
         (script(INSERT_SCRIPT));
+    mUpsertStatement = writableSQLiteDatabase.compileStatement
+        (script(UPSERT_SCRIPT));
   }
 
   /**
@@ -415,6 +510,14 @@ final class DatabaseTable {
   protected final void onDestroy() {
     mDeleteStatement.close();
     mDeleteStatement = null;
+    if (mUpsertStatement != null) {
+      mUpsertStatement.close();
+      mUpsertStatement = null;
+    }
+    if (mBulkStatement != null) {
+      mBulkStatement.close();
+      mBulkStatement = null;
+    }
     if (mGetDataStatement != null) {
       mGetDataStatement.close();
       mGetDataStatement = null;
@@ -158,6 +158,21 @@ interface Provider {
   default Uri insert(@NonNull Uri uri, @Nullable ContentValues values)
   {return stub(uri);}
 
+  /**
+   * Implement this to handle requests to insert a new row or replace the
+   * existing row with the same key in a single operation.
+   *
+   * <p>The default implementation simply calls {@link #insert(Uri, ContentValues)}.
+   * @param uri The content:// URI of the upsert request. This must not be {@code null}.
+   * @param values A set of column_name/value pairs to write to the database.
+   *     This must not be {@code null}.
+   * @return The URI for the written item.
+   * @see #UPSERT
+   */
+  @Nullable
+  default Uri upsert(@NonNull Uri uri, @Nullable ContentValues values)
+  {return insert(uri, values);}
+
   /**
    * Implement this to handle requests to update one or more rows.
    *
@@ -896,7 +911,8 @@ interface Provider {
       @Nullable @Override
       public final Uri insert
       (@NonNull Uri uri, @Nullable ContentValues values)
-      {return instance.insert(uri, values);}
+      {return !isUpsert(uri) ? instance.insert(uri, values) :
+          instance.upsert(cutUpsert(uri), values);}
 
       /** {@inheritDoc} */
       @Override
@@ -943,6 +959,35 @@ interface Provider {
   static boolean isCallerSyncAdapter(@NonNull Uri uri)
   {return uri.getBooleanQueryParameter(CALLER_IS_SYNCADAPTER, false);}
 
+  /**
+   * An optional insert URI parameter that turns the insert into an upsert.
+   * If set to true, the row with the same key is replaced instead of failing
+   * the insert, and the request is dispatched to {@link #upsert(Uri, ContentValues)}.
+   *
+   * @see Uri.Builder#appendQueryParameter(String, String)
+   */
+  String UPSERT = "upsert";
+
+  /**
+   * @param uri uri addresses
+   * @return true - upsert request
+   */
+  static boolean isUpsert(@NonNull Uri uri)
+  {return uri.getBooleanQueryParameter(UPSERT, false);}
+
+  /**
+   * @param uri uri addresses
+   * @return the same uri without {@link #UPSERT} parameter
+   */
+  @NonNull static Uri cutUpsert(@NonNull Uri uri) {
+    final Uri.Builder builder = uri.buildUpon().clearQuery();
+    for (final String name : uri.getQueryParameterNames())
+      if (!UPSERT.equals(name))
+        for (final String value : uri.getQueryParameters(name))
+          builder.appendQueryParameter(name, value);
+    return builder.build();
+  }
+
   /**
    * @param resolver  content resolver
    * @param uri       uri resource
@@ -41,8 +41,14 @@ import android.support.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
 
 import static data.Provider.isCallerSyncAdapter;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * General purpose {@link ContentProvider} base class that uses SQLiteDatabase for storage.
@@ -58,10 +64,12 @@ abstract class SQLiteProvider implements Provider {
 
     /** Sleep after yield delay. */
     private static final int SLEEP_AFTER_YIELD_DELAY = 400;
-    /** Maximum number of operations allowed in a batch between yield points. */
+    /** Maximum number of batch operations applied in one transaction between yield points. */
     private static final int MAX_OPERATIONS_PER_YIELD_POINT = 512;
     /** Number of inserts performed in bulk to allow before yielding the transaction. */
     private static final int BULK_INSERTS_PER_YIELD_POINT = 256;
+    /** Maximum number of writes applied by one group commit. */
+    private static final int MAX_WRITES_PER_GROUP_COMMIT = 256;
 
     /** SQLite helper */
     private SQLiteOpenHelper mOpenHelper = null;
@@ -73,6 +81,9 @@ abstract class SQLiteProvider implements Provider {
     protected SQLiteDatabase mDb;
     private final ThreadLocal<Boolean> mApplyingBatch = new ThreadLocal<>();
 
+    /** Group commit writer, null if disabled. */
+    @Nullable private final Writer mWriter;
+
     /** Application context. */
     protected final Context context;
 
@@ -82,11 +93,28 @@ abstract class SQLiteProvider implements Provider {
      * @param context application context
      */
     SQLiteProvider(@NonNull Context context)
-    {this.context = context;}
+    {this(context, 0);}
+
+    /**
+     * Constructs a new {@link SQLiteProvider}.
+     * <p>
+     * With a positive window single insert, upsert, update and delete calls
+     * are handed to a dedicated writer thread. It collects the writes of
+     * concurrent callers for up to the given window, applies them in one
+     * transaction and completes every caller with its own result.
+     *
+     * @param context application context
+     * @param window  group commit window in milliseconds, 0 to disable
+     */
+    SQLiteProvider(@NonNull Context context, long window) {
+        this.context = context;
+        mWriter = window > 0 ? new Writer(MILLISECONDS.toNanos(window)) : null;
+    }
 
     /** {@inheritDoc} */
     @Override public boolean onCreate() {
         mOpenHelper = getDatabaseHelper(context);
+        if (mWriter != null) mWriter.start();
         return mOpenHelper != null;
     }
 
@@ -97,6 +125,32 @@ abstract class SQLiteProvider implements Provider {
     protected abstract Uri insertInTransaction
     (@NonNull Uri uri, ContentValues values, boolean callerIsSyncAdapter);
 
+    /**
+     * The equivalent of the {@link #upsert} method, but invoked within a transaction.
+     * Inserts the row by default.
+     */
+    protected Uri upsertInTransaction
+    (@NonNull Uri uri, ContentValues values, boolean callerIsSyncAdapter)
+    {return insertInTransaction(uri, values, callerIsSyncAdapter);}
+
+    /**
+     * The equivalent of the {@link #bulkInsert} method for a range of values,
+     * but invoked within a transaction. Inserts the rows one by one by default.
+     *
+     * @param uri the content uri
+     * @param values the rows
+     * @param from first row, inclusive
+     * @param to last row, exclusive
+     * @param callerIsSyncAdapter access mode flag
+     *
+     * @return count of inserted rows
+     */
+    protected int bulkInsertInTransaction(@NonNull Uri uri,
+        @NonNull ContentValues[] values, int from, int to, boolean callerIsSyncAdapter) {
+        for (int i = from; i < to; i++) insertInTransaction(uri, values[i], callerIsSyncAdapter);
+        return to - from;
+    }
+
     /** The equivalent of the {@link #update} method, but invoked within a transaction. */
     protected abstract int updateInTransaction
     (@NonNull Uri uri, @Nullable ContentValues values,
@@ -110,45 +164,69 @@ abstract class SQLiteProvider implements Provider {
     protected final void postNotifyUri(@NonNull Uri uri)
     {synchronized (mChangedUris) {mChangedUris.add(uri);}}
 
+    /** @return true if the write should go through the group commit writer */
+    private boolean groupCommit()
+    {return mWriter != null && !mWriter.isCurrentThread();}
+
     /** @return is batch applying */
     private boolean applyingBatch()
     {return mApplyingBatch.get() != null && mApplyingBatch.get();}
 
+    /**
+     * Applies a single write.
+     * <p>
+     * Inside of a batch the write joins the batch transaction, with the group
+     * commit writer it is queued to the next group, otherwise it is applied in
+     * its own transaction.
+     *
+     * @param callerIsSyncAdapter access mode flag
+     * @param call                in-transaction write
+     * @param <T>                 type of result
+     *
+     * @return the result of write
+     */
+    private <T> T write(boolean callerIsSyncAdapter, @NonNull Supplier<T> call) {
+        if (applyingBatch()) return call.get();
+        if (groupCommit()) return mWriter.write(callerIsSyncAdapter, call);
+        final T result;
+        mDb = mOpenHelper.getWritableDatabase();
+        mDb.beginTransactionNonExclusive();
+        try {result = call.get(); mDb.setTransactionSuccessful();}
+        finally {mDb.endTransaction();}
+        onEndTransaction(callerIsSyncAdapter);
+        return result;
+    }
+
     /** {@inheritDoc} */
     @Override
     public final Uri insert(@NonNull Uri uri, ContentValues values) {
-        Uri result;
         final boolean callerIsSyncAdapter = isCallerSyncAdapter(uri);
-        final boolean applyingBatch = applyingBatch();
-        if (!applyingBatch) {
-            mDb = mOpenHelper.getWritableDatabase();
-            //mDb.beginTransaction();
-            mDb.beginTransactionNonExclusive();
-            try {result = insertInTransaction(uri, values, callerIsSyncAdapter);
-                mDb.setTransactionSuccessful();} finally {mDb.endTransaction();}
-            onEndTransaction(callerIsSyncAdapter);
-        } else result = insertInTransaction(uri, values, callerIsSyncAdapter);
+        return write(callerIsSyncAdapter,
+            () -> insertInTransaction(uri, values, callerIsSyncAdapter));
+    }
 
-        return result;
+    /** {@inheritDoc} */
+    @Override
+    public final Uri upsert(@NonNull Uri uri, ContentValues values) {
+        final boolean callerIsSyncAdapter = isCallerSyncAdapter(uri);
+        return write(callerIsSyncAdapter,
+            () -> upsertInTransaction(uri, values, callerIsSyncAdapter));
     }
 
     /** {@inheritDoc} */
     @Override
     public final int bulkInsert(@NonNull Uri uri, @NonNull ContentValues[] values) {
-        final int numValues = values.length; int opCount = 0, result;
+        final int numValues = values.length; int result = 0;
         final boolean callerIsSyncAdapter = isCallerSyncAdapter(uri);
         mDb = mOpenHelper.getWritableDatabase();
         //mDb.beginTransaction();
         mDb.beginTransactionNonExclusive();
         try {
-            for (ContentValues value : values) {
-                insertInTransaction(uri, value, callerIsSyncAdapter);
-                if (++opCount >= BULK_INSERTS_PER_YIELD_POINT) {
-                    opCount = 0;
-                    mDb.yieldIfContendedSafely(SLEEP_AFTER_YIELD_DELAY);
-                }
+            for (int from = 0; from < numValues; from += BULK_INSERTS_PER_YIELD_POINT) {
+                if (from > 0) mDb.yieldIfContendedSafely(SLEEP_AFTER_YIELD_DELAY);
+                final int to = Math.min(numValues, from + BULK_INSERTS_PER_YIELD_POINT);
+                result += bulkInsertInTransaction(uri, values, from, to, callerIsSyncAdapter);
             }
-            result = numValues;
             mDb.setTransactionSuccessful();} finally {mDb.endTransaction();}
         onEndTransaction(callerIsSyncAdapter);
         return result;
@@ -157,42 +235,37 @@ abstract class SQLiteProvider implements Provider {
     /** {@inheritDoc} */
     @Override
     public final int update(@NonNull Uri uri, ContentValues values, String sel, String[] args) {
-        int result; boolean callerIsSyncAdapter = isCallerSyncAdapter(uri);
-        boolean applyingBatch = applyingBatch();
-        if (!applyingBatch) {
-            mDb = mOpenHelper.getWritableDatabase();
-            //mDb.beginTransaction();
-            mDb.beginTransactionNonExclusive();
-            try {result = updateInTransaction(uri, values, sel, args, callerIsSyncAdapter);
-                mDb.setTransactionSuccessful();} finally {mDb.endTransaction();}
-            onEndTransaction(callerIsSyncAdapter);
-        } else result = updateInTransaction(uri, values, sel, args, callerIsSyncAdapter);
-        return result;
+        final boolean callerIsSyncAdapter = isCallerSyncAdapter(uri);
+        return write(callerIsSyncAdapter,
+            () -> updateInTransaction(uri, values, sel, args, callerIsSyncAdapter));
     }
 
     /** {@inheritDoc} */
     @Override
     public final int delete(@NonNull Uri uri, String sel, String[] args) {
-        int result; boolean callerIsSyncAdapter = isCallerSyncAdapter(uri);
-        boolean applyingBatch = applyingBatch();
-        if (!applyingBatch) {
-            mDb = mOpenHelper.getWritableDatabase();
-            //mDb.beginTransaction();
-            mDb.beginTransactionNonExclusive();
-            try {result = deleteInTransaction(uri, sel, args, callerIsSyncAdapter);
-                mDb.setTransactionSuccessful();} finally {mDb.endTransaction();}
-            onEndTransaction(callerIsSyncAdapter);
-        } else result = deleteInTransaction(uri, sel, args, callerIsSyncAdapter);
-        return result;
+        final boolean callerIsSyncAdapter = isCallerSyncAdapter(uri);
+        return write(callerIsSyncAdapter,
+            () -> deleteInTransaction(uri, sel, args, callerIsSyncAdapter));
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Applies the operations in one transaction, split at yield points.
+     * <p>
+     * A batch is atomic only up to {@link #MAX_OPERATIONS_PER_YIELD_POINT}
+     * operations between yield points. A longer run is committed in chunks of
+     * that size: if a later operation fails, the operations of the chunks
+     * committed before it stay applied, the same as with yield points.
+     *
+     * @param operations operations to apply
+     * @return the results of operations
+     * @throws OperationApplicationException if any operation fails
+     */
     @NonNull
     @Override
     public final ContentProviderResult[] applyBatch(@NonNull
         ArrayList<ContentProviderOperation> operations)
             throws OperationApplicationException {
-        int ypCount = 0, opCount = 0;
+        int opCount = 0;
         boolean callerIsSyncAdapter = false;
         mDb = mOpenHelper.getWritableDatabase();
         //mDb.beginTransaction();
@@ -202,21 +275,17 @@ abstract class SQLiteProvider implements Provider {
             final int numOperations = operations.size();
             final ContentProviderResult[] results = new ContentProviderResult[numOperations];
             for (int i = 0; i < numOperations; i++) {
-                if (++opCount >= MAX_OPERATIONS_PER_YIELD_POINT) {
-                    throw new OperationApplicationException(
-                            "Too many content provider operations between yield points. "
-                                    + "The maximum number of operations per yield point is "
-                                    + MAX_OPERATIONS_PER_YIELD_POINT, ypCount);
-                }
-
                 final ContentProviderOperation operation = operations.get(i);
                 if (!callerIsSyncAdapter && isCallerSyncAdapter(operation.getUri()))
                     callerIsSyncAdapter = true;
 
                 if (i > 0 && operation.isYieldAllowed()) {
                     opCount = 0;
-                    if (mDb.yieldIfContendedSafely(SLEEP_AFTER_YIELD_DELAY)) ypCount++;
+                    mDb.yieldIfContendedSafely(SLEEP_AFTER_YIELD_DELAY);
+                } else if (opCount >= MAX_OPERATIONS_PER_YIELD_POINT) {
+                    opCount = 0; commitChunk();
                 }
+                opCount++;
                 results[i] = operation.apply(mock(), results, i);
             }
             mDb.setTransactionSuccessful();
@@ -228,6 +297,20 @@ abstract class SQLiteProvider implements Provider {
         }
     }
 
+    /**
+     * Commits the work done so far and opens a new transaction.
+     * <p>
+     * Used by {@link #applyBatch(ArrayList)} to split long runs of operations
+     * without yield points into bounded transactions. Operations of committed
+     * chunks stay applied if a later chunk fails, the same as with yield points.
+     * The results array is shared by all chunks, so back-references keep their
+     * original indices.
+     */
+    private void commitChunk() {
+        mDb.setTransactionSuccessful(); mDb.endTransaction();
+        mDb.beginTransactionNonExclusive();
+    }
+
     /** @param callerIsSyncAdapter access mode flag */
     protected final void onEndTransaction(boolean callerIsSyncAdapter) {
         Set<Uri> changed;
@@ -250,7 +333,174 @@ abstract class SQLiteProvider implements Provider {
     /** {@inheritDoc} */
     @Override
     public void shutdown() {
+        if (mWriter != null) mWriter.stop();
         if (mDb != null) {mDb.close(); mDb = null;}
         if (mOpenHelper != null) {mOpenHelper.close(); mOpenHelper = null;}
     }
-}
\ No newline at end of file
+
+    /**
+     * Group commit writer.
+     * <p>
+     * If the shared transaction fails, it is rolled back and every write of the
+     * group is retried in its own transaction, so one bad write fails only its
+     * caller.
+     */
+    private final class Writer implements Runnable {
+
+        /** Pending writes. */
+        private final LinkedBlockingQueue<Write<?>> mQueue = new LinkedBlockingQueue<>();
+
+        /** Collected group. */
+        private final ArrayList<Write<?>> mGroup = new ArrayList<>();
+
+        /** Group commit window in nanos. */
+        private final long mWindow;
+
+        /** Writer thread. */
+        @Nullable private volatile Thread mThread = null;
+
+        /**
+         * Constructs a new {@link Writer}.
+         *
+         * @param window group commit window in nanos
+         */
+        Writer(long window) {mWindow = window;}
+
+        /** Starts the writer thread. */
+        final synchronized void start() {
+            if (mThread != null) return;
+            final Thread thread = new Thread(this, TAG + "-writer");
+            thread.setDaemon(true); (mThread = thread).start();
+        }
+
+        /**
+         * Stops the writer thread, pending writes are applied before.
+         * <p>
+         * Writes are queued under the same lock, so each one is either
+         * queued before the thread is cleared and applied, or refused.
+         */
+        final synchronized void stop() {
+            final Thread thread = mThread; if (thread == null) return;
+            mThread = null; thread.interrupt();
+            try {thread.join();}
+            catch (InterruptedException exception)
+            {Thread.currentThread().interrupt();}
+        }
+
+        /** @return true if called from the writer thread */
+        final boolean isCurrentThread()
+        {return mThread == Thread.currentThread();}
+
+        /**
+         * @param callerIsSyncAdapter access mode flag
+         * @param call                in-transaction write
+         * @param <T>                 type of result
+         *
+         * @return the result of write
+         */
+        final <T> T write(boolean callerIsSyncAdapter, @NonNull Supplier<T> call) {
+            final Write<T> write = new Write<>(callerIsSyncAdapter, call);
+            synchronized (this) {
+                if (mThread == null) throw new IllegalStateException("Writer is not started");
+                mQueue.add(write);
+            }
+            try {return write.future.join();}
+            catch (CompletionException exception) {
+                final Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw exception;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public final void run() {
+            while (mThread != null || !mQueue.isEmpty()) {
+                try {
+                    final Write<?> first = mQueue.take(); mGroup.add(first);
+                    final long deadline = System.nanoTime() + mWindow; long timeout;
+                    while (mGroup.size() < MAX_WRITES_PER_GROUP_COMMIT &&
+                        (timeout = deadline - System.nanoTime()) > 0) {
+                        final Write<?> next = mQueue.poll(timeout, NANOSECONDS);
+                        if (next == null) break; else mGroup.add(next);
+                    }
+                } catch (InterruptedException exception) {
+                    mQueue.drainTo(mGroup, MAX_WRITES_PER_GROUP_COMMIT - mGroup.size());
+                }
+                if (!mGroup.isEmpty()) try {commit(mGroup);} finally {mGroup.clear();}
+            }
+            for (Write<?> write; (write = mQueue.poll()) != null;)
+                write.future.completeExceptionally(new IllegalStateException("Writer is stopped"));
+        }
+
+        /** @param group writes to apply in one transaction */
+        private void commit(@NonNull ArrayList<Write<?>> group) {
+            boolean callerIsSyncAdapter = false, success = false;
+            for (final Write<?> write : group) callerIsSyncAdapter |= write.sync;
+            try {
+                mDb = mOpenHelper.getWritableDatabase();
+                mDb.beginTransactionNonExclusive();
+                try {for (final Write<?> write : group) write.apply();
+                    mDb.setTransactionSuccessful();} finally {mDb.endTransaction();}
+                success = true;
+            } catch (RuntimeException | Error exception) {
+                for (final Write<?> write : group) write.reset();
+            }
+            if (success) {
+                onEndTransaction(callerIsSyncAdapter);
+                for (final Write<?> write : group) write.complete();
+            } else for (final Write<?> write : group) commit(write);
+        }
+
+        /** @param write the write to apply in its own transaction */
+        private void commit(@NonNull Write<?> write) {
+            try {
+                mDb = mOpenHelper.getWritableDatabase();
+                mDb.beginTransactionNonExclusive();
+                try {write.apply(); mDb.setTransactionSuccessful();}
+                finally {mDb.endTransaction();}
+            } catch (RuntimeException | Error exception) {
+                write.future.completeExceptionally(exception); return;
+            }
+            onEndTransaction(write.sync);
+            write.complete();
+        }
+    }
+
+    /**
+     * Single write of group commit.
+     *
+     * @param <T> type of result
+     */
+    private static final class Write<T> {
+
+        /** Access mode flag. */
+        final boolean sync;
+
+        /** In-transaction write. */
+        private final Supplier<T> mCall;
+
+        /** Result of the caller. */
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        /** Result of write, not committed yet. */
+        @Nullable private T mResult = null;
+
+        /**
+         * Constructs a new {@link Write}.
+         *
+         * @param sync access mode flag
+         * @param call in-transaction write
+         */
+        Write(boolean sync, @NonNull Supplier<T> call) {this.sync = sync; mCall = call;}
+
+        /** Applies the write within the current transaction. */
+        void apply() {mResult = mCall.get();}
+
+        /** Drops the result of rolled back write. */
+        void reset() {mResult = null;}
+
+        /** Completes the caller by committed result. */
+        void complete() {future.complete(mResult);}
+    }
+}
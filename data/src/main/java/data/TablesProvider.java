@@ -91,6 +91,8 @@ final class TablesProvider extends SQLiteProvider {
   private static final int TRANSACTION_UPDATE = 2;
   /** The type of delete transaction. */
   private static final int TRANSACTION_DELETE = 3;
+  /** The type of upsert transaction. */
+  private static final int TRANSACTION_UPSERT = 4;
 
   /** The Parameters for SyncAdapter. */
   private static final HashSet<String> ALLOWED_QUERY_PARAMETERS = new HashSet<String>()
@@ -126,10 +128,11 @@ final class TablesProvider extends SQLiteProvider {
    * Constructs a new database provider
    *
    * @param context application context
+   * @param window  group commit window in milliseconds, 0 to disable
    */
   TablesProvider(@NonNull Context context, @NonNull String authority,
-      @NonNull String name, int version, @NonNull String[] tables) {
-    super(context);
+      @NonNull String name, int version, int window, @NonNull String[] tables) {
+    super(context, window);
     mContentUri = new Uri.Builder()
         .scheme(Provider.getTag(getClass()))
         .authority(authority).build();
@@ -240,6 +243,56 @@ final class TablesProvider extends SQLiteProvider {
     return ContentUris.withAppendedId(uri, result);
   }
 
+  /** {@inheritDoc} */
+  @Override protected final Uri upsertInTransaction
+  (@NonNull Uri uri, @Nullable ContentValues values, boolean callerIsSyncAdapter) {
+
+    if (Log.isLoggable(TAG, Log.DEBUG))
+      Log.println(
+          Log.DEBUG, TAG, " >>> UPSERT(" + (callerIsSyncAdapter ? "SYNC" : "APP") +
+          "): " + uri + ", " + values);
+
+    final DatabaseTable table = getTableByUri(uri); final boolean isItem = table.isItem(uri);
+    validateQueryParameters(table.getAllowedQueryParams(), uri.getQueryParameterNames());
+    verifyTransactionAllowed(TRANSACTION_UPSERT, isItem, table, uri, values, null, null,
+        callerIsSyncAdapter);
+
+    final long result = table.upsert(isItem ? ContentUris.parseId(uri) : -1, values);
+    sendUpdateNotification(table.contentUri, callerIsSyncAdapter);
+
+    if (Log.isLoggable(TAG, Log.DEBUG))
+      Log.println(Log.DEBUG, TAG, " <<< UPSERT(RESULT): " + result);
+
+    return isItem ? uri : ContentUris.withAppendedId(uri, result);
+  }
+
+  /** {@inheritDoc} */
+  @Override protected final int bulkInsertInTransaction(@NonNull Uri uri,
+      @NonNull ContentValues[] values, int from, int to, boolean callerIsSyncAdapter) {
+
+    final DatabaseTable table = getTableByUri(uri);
+    if (table.isItem(uri))
+      return super.bulkInsertInTransaction(uri, values, from, to, callerIsSyncAdapter);
+
+    if (Log.isLoggable(TAG, Log.DEBUG))
+      Log.println(
+          Log.DEBUG, TAG, " >>> BULK INSERT(" + (callerIsSyncAdapter ? "SYNC" : "APP") +
+          "): " + uri + ", " + (to - from) + " rows");
+
+    validateQueryParameters(table.getAllowedQueryParams(), uri.getQueryParameterNames());
+    for (int i = from; i < to; i++)
+      verifyTransactionAllowed(TRANSACTION_INSERT, false, table, uri, values[i], null, null,
+          callerIsSyncAdapter);
+
+    final int result = table.insert(values, from, to);
+    if (result != 0) sendUpdateNotification(table.contentUri, callerIsSyncAdapter);
+
+    if (Log.isLoggable(TAG, Log.DEBUG))
+      Log.println(Log.DEBUG, TAG, " <<< BULK INSERT(RESULT): " + result);
+
+    return result;
+  }
+
   /** The equivalent of the {@link #delete} method, but invoked within a transaction. */
   @Override protected final int deleteInTransaction
   (@NonNull Uri uri, String sel, String[] args, boolean callerIsSyncAdapter) {
@@ -434,13 +487,16 @@ final class TablesProvider extends SQLiteProvider {
       if (!TextUtils.isEmpty(selection)) {
         if (isItem) throw new IllegalArgumentException("Selection not permitted for " + uri);}
       else {if (!isItem) throw new IllegalArgumentException("Selection must be specified for " + uri);}
-    else if (!table.preferences && isItem) throw new IllegalArgumentException("Insert not permitted for " + uri);
+    else if (type == TRANSACTION_INSERT && !table.preferences && isItem)
+      throw new IllegalArgumentException("Insert not permitted for " + uri);
+    // Upsert replaces a row by its key, so item uris are allowed for any table
 
     if (!callerIsSyncAdapter && table.onlyForSync)
       throw new IllegalArgumentException("Only sync adapters may write using " + uri);
 
     switch (type) {
       case TRANSACTION_INSERT:
+      case TRANSACTION_UPSERT:
       case TRANSACTION_UPDATE:
         // Check there are no columns restricted to the provider
         verifyColumns(values, table.providerColumns);
@@ -0,0 +1,89 @@
+/*
+ * CallbackBenchmark.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link ThreadPool.Callback} hooks, against a plain executor.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallbackBenchmark {
+
+  /** Kind of pool. */
+  @Param({"plain", "callback", "metered"})
+  public String pool;
+
+  /** The pool. */
+  private ExecutorService mPool;
+
+  /** {@inheritDoc} */
+  @Setup(Level.Trial) public final void setUp() {
+    switch (pool) {
+      case "plain": mPool = new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(128), runnable -> new Thread(runnable)); break;
+      case "callback": mPool = ThreadPool.newSerial(Thread::new, Saturation.abort()); break;
+      default: mPool = ThreadPool.newSerial(Thread::new, Saturation.abort(), new Metrics());
+    }
+  }
+
+  /** {@inheritDoc} */
+  @TearDown(Level.Trial) public final void tearDown() {mPool.shutdownNow();}
+
+  /** @return result of round trip */
+  @Benchmark public final Object roundTrip()
+      throws ExecutionException, InterruptedException
+  {return mPool.submit(CallbackBenchmark::task).get();}
+
+  /** @return the task result */
+  private static Object task() {return Boolean.TRUE;}
+}
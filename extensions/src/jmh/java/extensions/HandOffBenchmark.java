@@ -0,0 +1,101 @@
+/*
+ * HandOffBenchmark.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serial hand-off: a dedicated serial pool against a {@link Strand}.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandOffBenchmark {
+
+  /** Tasks per invocation. */
+  private static final int TASKS = 1000;
+
+  /** Serial pool. */
+  private ExecutorService mSerial;
+
+  /** Shared parallel pool. */
+  private ExecutorService mParallel;
+
+  /** Strand over the parallel pool. */
+  private Strand mStrand;
+
+  /** {@inheritDoc} */
+  @Setup(Level.Trial) public final void setUp() {
+    mSerial = ThreadPool.newSerial(Thread::new, Saturation.callerRuns());
+    mParallel = ThreadPool.newParallel(Thread::new, Saturation.callerRuns());
+    mStrand = new Strand(mParallel);
+  }
+
+  /** {@inheritDoc} */
+  @TearDown(Level.Trial) public final void tearDown()
+  {Executors.close(mSerial); Executors.close(mParallel);}
+
+  /** Serial pool. */
+  @Benchmark @OperationsPerInvocation(TASKS)
+  public final void serial() throws InterruptedException {run(mSerial);}
+
+  /** Strand. */
+  @Benchmark @OperationsPerInvocation(TASKS)
+  public final void strand() throws InterruptedException {run(mStrand);}
+
+  /**
+   * @param executor serial executor
+   * @throws InterruptedException if interrupted
+   */
+  private static void run(Executor executor) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(TASKS);
+    for (int i = 0; i < TASKS; i++) executor.execute(latch::countDown);
+    latch.await();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * LanesBenchmark.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Foreground latency under background load: the round trip of a short
+ * foreground task, while a feeder keeps the pool busy with longer background
+ * ones. Compare the p99 of {@code lanes} (critical against prefetch lane)
+ * with the one of {@code fifo} (single shared queue).
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LanesBenchmark {
+
+  /** Outstanding background tasks. */
+  private static final int BACKLOG = 64;
+
+  /** Duration of background task, nanos. */
+  private static final long WORK = TimeUnit.MICROSECONDS.toNanos(50);
+
+  /** Scheduling. */
+  @Param({"lanes", "fifo"})
+  public String mode;
+
+  /** The pool. */
+  private Closeable mPool;
+
+  /** Foreground and background executors. */
+  private Executor mFront, mBack;
+
+  /** Permits of background tasks. */
+  private final Semaphore mPermits = new Semaphore(BACKLOG);
+
+  /** Background feeder. */
+  private Thread mFeeder;
+
+  /** {@inheritDoc} */
+  @Setup(Level.Trial) public final void setUp() {
+    if (mode.equals("lanes")) {
+      final Lanes lanes = new Lanes(ThreadPool.newPriority(Thread::new), 100, TimeUnit.MILLISECONDS);
+      mFront = lanes.lane(Lanes.Lane.CRITICAL); mBack = lanes.lane(Lanes.Lane.PREFETCH); mPool = lanes;
+    } else {
+      final ThreadPool pool = ThreadPool.newParallel(Thread::new, Saturation.callerRuns());
+      mFront = mBack = pool; mPool = pool;
+    }
+    (mFeeder = new Thread(this::feed, "Feeder")).start();
+  }
+
+  /** {@inheritDoc} */
+  @TearDown(Level.Trial) public final void tearDown() throws IOException, InterruptedException
+  {mFeeder.interrupt(); mFeeder.join(); mPool.close();}
+
+  /** Keeps the backlog of background tasks. */
+  private void feed() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        mPermits.acquire(); mBack.execute(() -> {
+          final long deadline = System.nanoTime() + WORK;
+          while (System.nanoTime() < deadline) Thread.yield();
+          mPermits.release();
+        });
+      }
+    } catch (InterruptedException exception) {Thread.currentThread().interrupt();}
+  }
+
+  /** Round trip of a foreground task. */
+  @Benchmark public final void foreground()
+  {CompletableFuture.runAsync(() -> {}, mFront).join();}
+}
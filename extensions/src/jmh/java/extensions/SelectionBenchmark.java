@@ -0,0 +1,121 @@
+/*
+ * SelectionBenchmark.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.v4.util.ArraySet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selection building: {@link Selection} against {@link BitSelection}.
+ *
+ * Run with "-prof gc" for the allocation profile.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+  /** Count of items. */
+  @Param({"100", "10000", "100000"})
+  public int size;
+
+  /** Content. */
+  private Set<Integer> mContent;
+
+  /** Content, as array set. */
+  private ArraySet<Integer> mArray;
+
+  /** Selected ids. */
+  private Set<Integer> mIds;
+
+  /** Incremental selection. */
+  private BitSelection<Integer> mBits;
+
+  /** Built selection. */
+  private Selection<Integer> mSelection;
+
+  /** Tap position. */
+  private int mTap;
+
+  /** {@inheritDoc} */
+  @Setup(Level.Trial) public final void setUp() {
+    mContent = new LinkedHashSet<>(size); mArray = new ArraySet<>(size);
+    for (int i = 0; i < size; i++) {mContent.add(i); mArray.add(i);}
+    mIds = new HashSet<>(); for (int i = 0; i < size; i += 10) mIds.add(i);
+    mBits = BitSelection.create(mContent, mIds);
+    mSelection = Selection.toSelection(mContent, mIds);
+  }
+
+  /** @return full build */
+  @Benchmark public final Object toSelection()
+  {return Selection.toSelection(mContent, mIds);}
+
+  /** @return full rebuild by new content */
+  @Benchmark public final Object transform()
+  {return mSelection.transform(mContent);}
+
+  /** @return full build */
+  @Benchmark public final Object bitsCreate()
+  {return BitSelection.create(mContent, mIds).snapshot().toSelection();}
+
+  /** @return selection after one tap, rebuilt */
+  @Benchmark public final Object tap() {
+    final int id = mTap = (mTap + 7) % size;
+    if (!mIds.remove(id)) mIds.add(id);
+    return Selection.toSelection(mContent, mIds);
+  }
+
+  /** @return selection after one tap, incremental */
+  @Benchmark public final Object bitsTap()
+  {mBits.toggle(mTap = (mTap + 7) % size); return mBits.snapshot().toSelection();}
+
+  /** @return reselected item */
+  @Benchmark public final Object selected()
+  {return Selected.create(mArray.valueAt(size / 2), size / 2).items(mArray);}
+}
@@ -0,0 +1,118 @@
+/*
+ * SplitBenchmark.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Recursive fan-out/fan-in: a divide-and-conquer sum, each task forking its
+ * left half and computing the right one, on a work-stealing pool against a
+ * shared-queue parallel pool.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitBenchmark {
+
+  /** Count of values. */
+  private static final int SIZE = 1 << 16;
+
+  /** Max count of values per leaf task. */
+  private static final int LEAF = 1 << 10;
+
+  /** Kind of pool. */
+  @Param({"parallel", "stealing"})
+  public String pool;
+
+  /** Summed values. */
+  private final long[] mValues = new long[SIZE];
+
+  /** The pool. */
+  private ExecutorService mPool;
+
+  /** {@inheritDoc} */
+  @Setup(Level.Trial) public final void setUp() {
+    for (int i = 0; i < SIZE; i++) mValues[i] = i;
+    mPool = pool.equals("parallel") ?
+        ThreadPool.newParallel(Thread::new, Saturation.callerRuns()) :
+        StealingPool.newParallel(ForkJoinPool.defaultForkJoinWorkerThreadFactory);
+  }
+
+  /** {@inheritDoc} */
+  @TearDown(Level.Trial) public final void tearDown() {Executors.close(mPool);}
+
+  /** @return the sum */
+  @Benchmark public final long split() {
+    final Executor executor = mPool;
+    return CompletableFuture.supplyAsync(() -> sum(mValues, 0, SIZE, executor), executor)
+        .thenCompose(Function.identity()).join();
+  }
+
+  /**
+   * @param values summed values
+   * @param from first index, inclusive
+   * @param to last index, exclusive
+   * @param executor executor of forks
+   *
+   * @return the sum of range
+   */
+  private static CompletableFuture<Long> sum(long[] values, int from, int to, Executor executor) {
+    if (to - from <= LEAF) {
+      long result = 0L; for (int i = from; i < to; i++) result += values[i];
+      return CompletableFuture.completedFuture(result);
+    }
+    final int middle = (from + to) >>> 1;
+    final CompletableFuture<Long> left = CompletableFuture
+        .supplyAsync(() -> sum(values, from, middle, executor), executor)
+        .thenCompose(Function.identity());
+    return sum(values, middle, to, executor).thenCombine(left, Long::sum);
+  }
+}
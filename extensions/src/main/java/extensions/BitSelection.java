@@ -0,0 +1,547 @@
+/*
+ * BitSelection.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.NonNull;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Incremental selection model.
+ *
+ * Keeps the selected state of the content in a primitive bitset, indexed by
+ * the position of an item, with an open-addressing map from an identifier
+ * ({@link Object#hashCode()}, as in {@link Selection}) to that position.
+ * Select and unselect are O(1), ranges are applied word by word, and
+ * {@link #snapshot()} shares the bits copy-on-write, so a snapshot costs
+ * nothing until the next mutation.
+ *
+ * Instances are not thread-safe.
+ *
+ * @param <T> type of item
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class BitSelection<T> {
+
+  /** Bits per word. */
+  private static final int WORD = Long.SIZE;
+
+  /** Content items. */
+  private final List<T> mItems;
+
+  /** Identifiers index. */
+  private final Index mIndex;
+
+  /** Selected bits. */
+  private long[] mWords;
+
+  /** Selected ids without items. */
+  private Set<Integer> mOrphans;
+
+  /** Bits and orphans are shared with a snapshot. */
+  private boolean mShared = false;
+
+  /** Count of selected items. */
+  private int mCount = 0;
+
+  /**
+   * Constructs a new {@link BitSelection}.
+   *
+   * @param items content items
+   * @param index identifiers index
+   * @param orphans selected ids without items
+   */
+  private BitSelection(@NonNull List<T> items,
+      @NonNull Index index, @NonNull Set<Integer> orphans) {
+    mItems = items; mIndex = index; mOrphans = orphans;
+    mWords = new long[(items.size() + WORD - 1) / WORD];
+  }
+
+  /**
+   * @param content content items
+   * @param <T> type of item
+   *
+   * @return new selection model without selected items
+   */
+  @NonNull public static <T> BitSelection<T>
+  create(@NonNull Collection<T> content)
+  {return create(content, Collections.emptySet());}
+
+  /**
+   * @param content content items
+   * @param selection selected identifiers
+   * @param <T> type of item
+   *
+   * @return new selection model
+   */
+  @NonNull public static <T> BitSelection<T> create
+  (@NonNull Collection<T> content, @NonNull Collection<Integer> selection) {
+    final List<T> items = Collections.unmodifiableList(new ArrayList<>(content));
+    final BitSelection<T> result =
+        new BitSelection<>(items, new Index(items), new HashSet<>());
+    for (final Integer id : selection) result.selectId(id);
+    return result;
+  }
+
+  /**
+   * @param content new content items
+   * @param <U> type of new item
+   *
+   * @return new selection model over the content, that keeps selected ids
+   */
+  @NonNull public final <U> BitSelection<U>
+  transform(@NonNull Collection<U> content)
+  {return create(content, snapshot().ids());}
+
+  /** @return count of items */
+  public final int size() {return mItems.size();}
+
+  /** @return count of selected items */
+  public final int count() {return mCount;}
+
+  /** @return count of selected identifiers, including orphans */
+  public final int countIds() {return mCount + mOrphans.size();}
+
+  /**
+   * @param index position of item
+   * @return item at position
+   */
+  @NonNull public final T get(int index) {return mItems.get(index);}
+
+  /**
+   * @param id identifier of item
+   * @return position of item or -1
+   */
+  public final int indexOf(int id) {return mIndex.get(id);}
+
+  /**
+   * @param index position of item
+   * @return true if selected
+   */
+  public final boolean isSelected(int index)
+  {return bit(mWords, checkIndex(index));}
+
+  /**
+   * @param id identifier of item
+   * @return true if selected
+   */
+  public final boolean isSelectedId(int id) {
+    final int index = mIndex.get(id);
+    return index != -1 ? bit(mWords, index) : mOrphans.contains(id);
+  }
+
+  /** @return true if nothing is selected, including orphans */
+  public final boolean isEmpty() {return mCount == 0 && mOrphans.isEmpty();}
+
+  /**
+   * @param index position of item
+   * @return true if state was changed
+   */
+  public final boolean select(int index) {
+    final int word = checkIndex(index) / WORD; final long mask = 1L << index;
+    if ((mWords[word] & mask) != 0) return false;
+    words()[word] |= mask; mCount++; return true;
+  }
+
+  /**
+   * @param index position of item
+   * @return true if state was changed
+   */
+  public final boolean unSelect(int index) {
+    final int word = checkIndex(index) / WORD; final long mask = 1L << index;
+    if ((mWords[word] & mask) == 0) return false;
+    words()[word] &= ~mask; mCount--; return true;
+  }
+
+  /**
+   * @param index position of item
+   * @return new state of item
+   */
+  public final boolean toggle(int index)
+  {return select(index) || !unSelect(index);}
+
+  /**
+   * @param from first position, inclusive
+   * @param to last position, exclusive
+   */
+  public final void select(int from, int to) {range(from, to, true);}
+
+  /**
+   * @param from first position, inclusive
+   * @param to last position, exclusive
+   */
+  public final void unSelect(int from, int to) {range(from, to, false);}
+
+  /**
+   * @param id identifier of item
+   * @return true if state was changed
+   */
+  public final boolean selectId(int id) {
+    final int index = mIndex.get(id);
+    return index != -1 ? select(index) :
+        !mOrphans.contains(id) && orphans().add(id);
+  }
+
+  /**
+   * @param id identifier of item
+   * @return true if state was changed
+   */
+  public final boolean unSelectId(int id) {
+    final int index = mIndex.get(id);
+    return index != -1 ? unSelect(index) :
+        mOrphans.contains(id) && orphans().remove(id);
+  }
+
+  /**
+   * @param id identifier of item
+   * @return new state of item
+   */
+  public final boolean toggleId(int id)
+  {return selectId(id) || !unSelectId(id);}
+
+  /** Clear all selections. */
+  public final void reset() {
+    if (mCount != 0) {words(); Arrays.fill(mWords, 0L); mCount = 0;}
+    if (!mOrphans.isEmpty()) orphans().clear();
+  }
+
+  /** @return immutable snapshot of current state */
+  @NonNull public final Snapshot<T> snapshot() {
+    mShared = true;
+    return new Snapshot<>(mItems, mIndex, mWords, mOrphans, mCount);
+  }
+
+  /**
+   * @param from first position, inclusive
+   * @param to last position, exclusive
+   * @param value new state
+   */
+  private void range(int from, int to, boolean value) {
+    if (from < 0 || to > mItems.size() || from > to)
+      throw new IndexOutOfBoundsException(from + ".." + to);
+    if (from == to) return;
+    final long[] words = words();
+    final int first = from / WORD, last = (to - 1) / WORD;
+    for (int word = first; word <= last; word++) {
+      long mask = -1L;
+      if (word == first) mask &= -1L << from;
+      if (word == last) mask &= -1L >>> (WORD - to % WORD) % WORD;
+      final long old = words[word];
+      words[word] = value ? old | mask : old & ~mask;
+      mCount += Long.bitCount(words[word]) - Long.bitCount(old);
+    }
+  }
+
+  /** @return own bits for write */
+  @NonNull private long[] words() {
+    if (mShared) {
+      mWords = mWords.clone(); mOrphans = new HashSet<>(mOrphans);
+      mShared = false;
+    }
+    return mWords;
+  }
+
+  /** @return own orphans for write */
+  @NonNull private Set<Integer> orphans() {words(); return mOrphans;}
+
+  /**
+   * @param index position of item
+   * @return checked position
+   */
+  private int checkIndex(int index) {
+    if (index < 0 || index >= mItems.size())
+      throw new IndexOutOfBoundsException(String.valueOf(index));
+    return index;
+  }
+
+  /**
+   * @param words bits
+   * @param index position
+   *
+   * @return bit value
+   */
+  private static boolean bit(@NonNull long[] words, int index)
+  {return (words[index / WORD] & (1L << index)) != 0;}
+
+  /**
+   * @param words bits
+   * @param from start position
+   *
+   * @return next selected position or -1
+   */
+  private static int nextBit(@NonNull long[] words, int from) {
+    int word = from / WORD; if (word >= words.length) return -1;
+    long bits = words[word] & (-1L << from);
+    while (true) {
+      if (bits != 0) return word * WORD + Long.numberOfTrailingZeros(bits);
+      if (++word == words.length) return -1; bits = words[word];
+    }
+  }
+
+  /**
+   * Immutable state of {@link BitSelection}.
+   *
+   * @param <T> type of item
+   */
+  public static final class Snapshot<T> {
+
+    /** Content items. */
+    private final List<T> mItems;
+
+    /** Identifiers index. */
+    private final Index mIndex;
+
+    /** Selected bits. */
+    private final long[] mWords;
+
+    /** Selected ids without items. */
+    private final Set<Integer> mOrphans;
+
+    /** Count of selected items. */
+    private final int mCount;
+
+    /**
+     * Constructs a new {@link Snapshot}.
+     *
+     * @param items content items
+     * @param index identifiers index
+     * @param words selected bits
+     * @param orphans selected ids without items
+     * @param count count of selected items
+     */
+    Snapshot(@NonNull List<T> items, @NonNull Index index,
+        @NonNull long[] words, @NonNull Set<Integer> orphans, int count) {
+      mItems = items; mIndex = index; mWords = words;
+      mOrphans = Collections.unmodifiableSet(orphans); mCount = count;
+    }
+
+    /** @return count of items */
+    public final int size() {return mItems.size();}
+
+    /** @return count of selected items */
+    public final int count() {return mCount;}
+
+    /**
+     * @param index position of item
+     * @return item at position
+     */
+    @NonNull public final T get(int index) {return mItems.get(index);}
+
+    /**
+     * @param index position of item
+     * @return true if selected
+     */
+    public final boolean isSelected(int index) {
+      if (index < 0 || index >= mItems.size())
+        throw new IndexOutOfBoundsException(String.valueOf(index));
+      return bit(mWords, index);
+    }
+
+    /**
+     * @param id identifier of item
+     * @return true if selected
+     */
+    public final boolean isSelectedId(int id) {
+      final int index = mIndex.get(id);
+      return index != -1 ? bit(mWords, index) : mOrphans.contains(id);
+    }
+
+    /** @return selected ids, including orphans */
+    @NonNull public final Set<Integer> ids() {
+      return new AbstractSet<Integer>() {
+        @Override public final boolean contains(Object o)
+        {return o instanceof Integer && isSelectedId((Integer) o);}
+        @Override public final int size() {return mCount + mOrphans.size();}
+        @Override @NonNull public final Iterator<Integer> iterator() {
+          final Iterator<Integer> orphans = mOrphans.iterator();
+          return new Bits<Integer>(mWords) {
+            @Override public final boolean hasNext()
+            {return super.hasNext() || orphans.hasNext();}
+            @Override public final Integer next() {
+              return super.hasNext() ?
+                  mItems.get(advance()).hashCode() : orphans.next();
+            }
+          };
+        }
+      };
+    }
+
+    /**
+     * Views this snapshot as a {@link Selection}.
+     *
+     * The sets of returned selection are read-through views, so creation is
+     * O(1) and {@link Selectable} wrappers are allocated only on iteration.
+     *
+     * @return selection
+     */
+    @NonNull public final Selection<T> toSelection() {
+      return Selection.of(new AbstractSet<Selectable<T>>() {
+        @Override public final boolean contains(Object o) {
+          if (!(o instanceof Selectable)) return false;
+          final Selectable<?> item = (Selectable<?>) o;
+          final int index = mIndex.get(item.content.hashCode());
+          return index != -1 && bit(mWords, index) == item.selected &&
+              Objects.equals(mItems.get(index), item.content);
+        }
+        @Override public final int size() {return mItems.size();}
+        @Override @NonNull public final Iterator<Selectable<T>> iterator() {
+          return new Iterator<Selectable<T>>() {
+            private int mNext = 0;
+            @Override public final boolean hasNext()
+            {return mNext < mItems.size();}
+            @Override public final Selectable<T> next() {
+              if (!hasNext()) throw new NoSuchElementException();
+              final int index = mNext++;
+              return new Selectable<>(mItems.get(index), bit(mWords, index));
+            }
+          };
+        }
+      }, mOrphans, ids());
+    }
+
+    /** {@inheritDoc} */
+    @Override public final boolean equals(Object obj) {
+      if (this == obj) return true;
+      if (!(obj instanceof Snapshot)) return false;
+      final Snapshot<?> that = (Snapshot<?>) obj;
+      return mCount == that.mCount &&
+          Arrays.equals(mWords, that.mWords) &&
+          mOrphans.equals(that.mOrphans) &&
+          mItems.equals(that.mItems);
+    }
+
+    /** {@inheritDoc} */
+    @Override public final int hashCode()
+    {return Objects.hash(mItems, Arrays.hashCode(mWords), mOrphans);}
+
+    /** {@inheritDoc} */
+    @Override @NonNull public final String toString() {
+      return "Snapshot{" + "size=" + mItems.size()
+          + ", count=" + mCount
+          + ", orphanIds=" + mOrphans
+          + '}';
+    }
+  }
+
+  /**
+   * Iterator over set bits.
+   *
+   * @param <E> type of element
+   */
+  private abstract static class Bits<E> implements Iterator<E> {
+
+    /** Selected bits. */
+    private final long[] mWords;
+
+    /** Next set position. */
+    private int mNext;
+
+    /**
+     * Constructs a new {@link Bits}.
+     *
+     * @param words selected bits
+     */
+    Bits(@NonNull long[] words) {mWords = words; mNext = nextBit(words, 0);}
+
+    /** {@inheritDoc} */
+    @Override public boolean hasNext() {return mNext != -1;}
+
+    /** @return current set position */
+    final int advance() {
+      final int result = mNext;
+      if (result == -1) throw new NoSuchElementException();
+      mNext = nextBit(mWords, result + 1); return result;
+    }
+  }
+
+  /** Open-addressing map of identifiers to positions. */
+  private static final class Index {
+
+    /** Empty slot. */
+    private static final int FREE = -1;
+
+    /** Keys of table. */
+    private final int[] mKeys;
+
+    /** Positions of table, or {@link #FREE}. */
+    private final int[] mValues;
+
+    /** Mask of table. */
+    private final int mMask;
+
+    /**
+     * Constructs a new {@link Index}.
+     *
+     * The first item wins on identifiers collision.
+     *
+     * @param items content items
+     */
+    Index(@NonNull List<?> items) {
+      final int capacity = Integer.highestOneBit(Math.max(2, items.size()) * 2 - 1) << 1;
+      mKeys = new int[capacity]; mValues = new int[capacity];
+      Arrays.fill(mValues, FREE); mMask = capacity - 1;
+      for (int i = 0; i < items.size(); i++) {
+        final int key = items.get(i).hashCode();
+        int slot = mix(key) & mMask;
+        while (mValues[slot] != FREE && mKeys[slot] != key)
+          slot = (slot + 1) & mMask;
+        if (mValues[slot] == FREE) {mKeys[slot] = key; mValues[slot] = i;}
+      }
+    }
+
+    /**
+     * @param key identifier
+     * @return position or -1
+     */
+    final int get(int key) {
+      int slot = mix(key) & mMask;
+      while (mValues[slot] != FREE) {
+        if (mKeys[slot] == key) return mValues[slot];
+        slot = (slot + 1) & mMask;
+      }
+      return FREE;
+    }
+
+    /**
+     * @param key identifier
+     * @return spread hash
+     */
+    private static int mix(int key) {final int h = key * 0x9E3779B9; return h ^ (h >>> 16);}
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Coalescer.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keyed coalescing executor.
+ *
+ * A task, submitted for a key that already has a pending (not yet started)
+ * task, replaces it: the pending future is shared and completes with the
+ * result of the latest submission. At most one task per key runs at a time.
+ *
+ * @param <K> type of key
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class Coalescer<K> {
+
+  /** Slots by keys. */
+  private final ConcurrentMap<K, Slot> mSlots = new ConcurrentHashMap<>();
+
+  /** Replaced tasks. */
+  private final LongAdder mCoalesced = new LongAdder();
+
+  /** Underlying executor. */
+  private final Executor mExecutor;
+
+  /**
+   * Constructs a new {@link Coalescer}.
+   *
+   * @param executor underlying executor
+   */
+  private Coalescer(@NonNull Executor executor) {mExecutor = executor;}
+
+  /**
+   * @param executor underlying executor
+   * @param <K> type of key
+   *
+   * @return new coalescing executor
+   */
+  @NonNull public static <K> Coalescer<K> create(@NonNull Executor executor)
+  {return new Coalescer<>(executor);}
+
+  /**
+   * @param key key of task
+   * @param task task for execute
+   *
+   * @return future of the latest task for the key
+   */
+  @AnyThread @NonNull public final CompletableFuture<Void>
+  execute(@NonNull K key, @NonNull Runnable task)
+  {return submit(key, () -> {task.run(); return null;});}
+
+  /**
+   * All tasks of one key should produce the same type of result.
+   *
+   * @param key key of task
+   * @param task task for execute
+   * @param <T> type of result
+   *
+   * @return future of the latest task for the key
+   */
+  @SuppressWarnings("unchecked")
+  @AnyThread @NonNull public final <T> CompletableFuture<T>
+  submit(@NonNull K key, @NonNull Supplier<T> task) {
+    final Pending[] pending = new Pending[1]; final boolean[] start = new boolean[1];
+    mSlots.compute(key, (k, slot) -> {
+      if (slot == null) slot = new Slot();
+      if (slot.pending != null && !slot.pending.future.isDone())
+      {slot.pending.task = task; mCoalesced.increment();}
+      else {
+        slot.pending = new Pending(task);
+        if (!slot.running) start[0] = slot.running = true;
+      }
+      pending[0] = slot.pending; return slot;
+    });
+    if (start[0]) launch(key);
+    return (CompletableFuture<T>) pending[0].future;
+  }
+
+  /** @return count of replaced tasks */
+  public final long coalesced() {return mCoalesced.sum();}
+
+  /** @return count of keys with pending or running tasks */
+  public final int size() {return mSlots.size();}
+
+  /** @param key key for launch */
+  private void launch(@NonNull K key) {
+    try {mExecutor.execute(() -> run(key));}
+    catch (RuntimeException exception) {
+      final Slot slot = mSlots.remove(key);
+      if (slot != null && slot.pending != null)
+        slot.pending.future.completeExceptionally(exception);
+    }
+  }
+
+  /** @param key key for run */
+  private void run(@NonNull K key) {
+    final Pending[] pending = new Pending[1];
+    mSlots.computeIfPresent(key, (k, slot) ->
+    {pending[0] = slot.pending; slot.pending = null; return slot;});
+    final Pending task = pending[0];
+    if (task != null && !task.future.isDone())
+      try {task.future.complete(task.task.get());}
+      catch (Throwable throwable) {task.future.completeExceptionally(throwable);}
+    final boolean[] next = new boolean[1];
+    mSlots.computeIfPresent(key, (k, slot) ->
+    {if (slot.pending == null) return null; next[0] = true; return slot;});
+    if (next[0]) launch(key);
+  }
+
+  /** Slot of one key, guarded by the map. */
+  private static final class Slot {
+
+    /** Pending task. */
+    Pending pending;
+
+    /** Running flag. */
+    boolean running;
+  }
+
+  /** Pending task. */
+  private static final class Pending {
+
+    /** Shared future. */
+    final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    /** Latest task. */
+    volatile Supplier<?> task;
+
+    /**
+     * Constructs a new {@link Pending}.
+     *
+     * @param task task for execute
+     */
+    Pending(@NonNull Supplier<?> task) {this.task = task;}
+  }
+}
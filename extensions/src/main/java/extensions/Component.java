@@ -44,10 +44,6 @@ public abstract class Component implements Closeable {
   /** Closed state. */
   private volatile boolean mClosed;
 
-  /** {@inheritDoc} */
-  @Override protected final void finalize() throws Throwable
-  {try {close();} finally {super.finalize();}}
-
   /** {@inheritDoc} */
   @Override public final void close()
   {if (mClosed) return; try {module().close();}
@@ -0,0 +1,255 @@
+/*
+ * ConcurrentSelector.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Thread-safe {@link Selector}.
+ *
+ * Operations from any thread are queued lock-free and applied by one drain
+ * on a serial {@link Strand}, over a {@link BitSelection}. Each drain
+ * publishes at most one {@link Selection} snapshot, which is a read-through
+ * view, so the cost of publication doesn't depend on the count of items.
+ * Publication never blocks the strand: only the latest snapshot is posted
+ * to the main thread.
+ *
+ * The limit counts all selected identifiers, including the orphans left by
+ * {@link #content(Collection)}, so it still holds when their items return.
+ *
+ * @param <T> type of item
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class ConcurrentSelector<T> implements Selector<T> {
+
+  /** Unlimited count of selected items. */
+  public static final int UNLIMITED = Integer.MAX_VALUE;
+
+  /** Pending operations. */
+  private final Queue<Op<T>> mQueue = new ConcurrentLinkedQueue<>();
+
+  /** Drain is scheduled. */
+  private final AtomicBoolean mScheduled = new AtomicBoolean();
+
+  /** Published selection. */
+  private final Live.Mutable<Selection<T>> mLive;
+
+  /** Serial executor. */
+  private final Strand mStrand;
+
+  /** Max count of selected items. */
+  private final int mLimit;
+
+  /** Drain task. */
+  private final Runnable mDrain = this::drain;
+
+  /** Current state, confined to strand. */
+  private BitSelection<T> mState;
+
+  /**
+   * Constructs a new {@link ConcurrentSelector}.
+   *
+   * @param content initial content
+   * @param limit max count of selected items
+   * @param strand serial executor
+   */
+  private ConcurrentSelector(@NonNull Collection<T> content,
+      @IntRange(from = 1) int limit, @NonNull Strand strand) {
+    if (limit < 1) throw new IllegalArgumentException("limit: " + limit);
+    mState = BitSelection.create(content); mLimit = limit; mStrand = strand;
+    mLive = Live.create(mState.snapshot().toSelection(), Live.Equality.identity());
+  }
+
+  /**
+   * @param content initial content
+   * @param <T> type of item
+   *
+   * @return new selector without limits
+   */
+  @NonNull public static <T> ConcurrentSelector<T> create(@NonNull Collection<T> content)
+  {return create(content, UNLIMITED);}
+
+  /**
+   * @param content initial content
+   * @param limit max count of selected items, 1 for single choice
+   * @param <T> type of item
+   *
+   * @return new selector on the shared pool
+   */
+  @NonNull public static <T> ConcurrentSelector<T> create
+  (@NonNull Collection<T> content, @IntRange(from = 1) int limit)
+  {return new ConcurrentSelector<>(content, limit, Executors.strand());}
+
+  /**
+   * @param content initial content
+   * @param limit max count of selected items, 1 for single choice
+   * @param pool underlying pool
+   * @param <T> type of item
+   *
+   * @return new selector
+   */
+  @NonNull public static <T> ConcurrentSelector<T> create(@NonNull Collection<T> content,
+      @IntRange(from = 1) int limit, @NonNull Executor pool)
+  {return new ConcurrentSelector<>(content, limit, Executors.strand(pool));}
+
+  /** {@inheritDoc} */
+  @Override @NonNull public final Live<Selection<T>> get() {return mLive;}
+
+  /** {@inheritDoc} */
+  @AnyThread @Override public final void select(int id)
+  {offer(state -> select(state, id));}
+
+  /** {@inheritDoc} */
+  @AnyThread @Override public final void unSelect(int id)
+  {offer(state -> state.unSelectId(id));}
+
+  /** @param id identifier of item for toggle */
+  @AnyThread public final void toggle(int id)
+  {offer(state -> state.isSelectedId(id) ?
+      state.unSelectId(id) : select(state, id));}
+
+  /** {@inheritDoc} */
+  @AnyThread @Override public final void reset()
+  {offer(state -> {final boolean result = !state.isEmpty();
+    state.reset(); return result;});}
+
+  /**
+   * Replaces the content, keeping selected identifiers.
+   *
+   * @param content new content
+   */
+  @AnyThread public final void content(@NonNull Collection<T> content) {
+    final List<T> items = new ArrayList<>(content);
+    offer(state -> {mState = state.transform(items); return true;});
+  }
+
+  /** @return new batch of operations, applied atomically */
+  @NonNull public final Batch batch() {return new Batch();}
+
+  /** @param op operation for enqueue */
+  private void offer(@NonNull Op<T> op) {
+    mQueue.offer(op);
+    if (mScheduled.compareAndSet(false, true)) mStrand.execute(mDrain);
+  }
+
+  /** Applies pending operations and publishes the result. */
+  private void drain() {
+    mScheduled.set(false); boolean changed = false;
+    for (Op<T> op = mQueue.poll(); op != null; op = mQueue.poll())
+      changed |= op.apply(mState);
+    if (changed) mLive.post(mState.snapshot().toSelection());
+  }
+
+  /**
+   * @param state current state
+   * @param id identifier of item
+   *
+   * @return true if state was changed
+   */
+  private boolean select(@NonNull BitSelection<T> state, int id) {
+    if (state.isSelectedId(id)) return false;
+    if (state.countIds() >= mLimit) {
+      if (mLimit != 1) return false;
+      state.reset();
+    }
+    return state.selectId(id);
+  }
+
+  /**
+   * Selection operation.
+   *
+   * @param <T> type of item
+   */
+  @FunctionalInterface
+  private interface Op<T> {
+
+    /**
+     * @param state current state
+     * @return true if state was changed
+     */
+    boolean apply(@NonNull BitSelection<T> state);
+  }
+
+  /**
+   * Batch of operations.
+   *
+   * Not thread-safe: build it on one thread, then {@link #apply()}.
+   */
+  public final class Batch {
+
+    /** Operations. */
+    private final List<Op<T>> mOps = new ArrayList<>();
+
+    /** Constructs a new {@link Batch}. */
+    Batch() {}
+
+    /**
+     * @param id identifier of item for select
+     * @return this batch
+     */
+    @NonNull public final Batch select(int id)
+    {mOps.add(state -> ConcurrentSelector.this.select(state, id)); return this;}
+
+    /**
+     * @param id identifier of item for unSelect
+     * @return this batch
+     */
+    @NonNull public final Batch unSelect(int id)
+    {mOps.add(state -> state.unSelectId(id)); return this;}
+
+    /**
+     * @param id identifier of item for toggle
+     * @return this batch
+     */
+    @NonNull public final Batch toggle(int id) {
+      mOps.add(state -> state.isSelectedId(id) ?
+          state.unSelectId(id) : ConcurrentSelector.this.select(state, id));
+      return this;
+    }
+
+    /** Enqueues all operations as one. */
+    @AnyThread public final void apply() {
+      if (mOps.isEmpty()) return;
+      final List<Op<T>> ops = Collections.unmodifiableList(new ArrayList<>(mOps));
+      mOps.clear(); offer(state -> {boolean result = false;
+        for (final Op<T> op : ops) result |= op.apply(mState); return result;});
+    }
+  }
+}
@@ -37,6 +37,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import static android.os.Looper.getMainLooper;
@@ -45,7 +46,7 @@ import static android.os.Message.obtain;
 import static android.os.Process.THREAD_PRIORITY_DEFAULT;
 import static java.lang.Thread.NORM_PRIORITY;
 import static java.lang.Thread.currentThread;
-import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * @author Nikitenko Gleb
@@ -67,6 +68,28 @@ public final class Executors {
   /** Worker thread executor */
   public static Executor WORK = null;
 
+  /** Default delay between adjacent priority lanes, millis. */
+  private static final long LANES_AGING = 100L;
+
+  /** Default sampling period of adaptive pools, millis. */
+  private static final long SIZER_PERIOD = 500L;
+
+  /** Strands thread name. */
+  private static final String STRAND_NAME = "Strand";
+
+  /** Teardown thread name. */
+  private static final String TEARDOWN_NAME = "Teardown";
+
+  /** Timer thread name. */
+  private static final String TIMER_NAME = "Timer";
+  /** Timer tick, millis. */
+  private static final long TIMER_TICK = 10L;
+  /** Timer wheel size. */
+  private static final int TIMER_SIZE = 512;
+
+  /** Main thread, only for tests. */
+  static volatile Thread MAIN_THREAD = null;
+
   /** Only for tests */
   public static void flat()
   {MAIN = WORK = Runnable::run;}
@@ -82,10 +105,13 @@ public final class Executors {
    **/
   private Executors() {throw new AssertionError();}
 
-  /** @return new created executor by current looper */
-  @NonNull public static Executor create()
-  {final Looper looper = myLooper();
-  return looper != null ? new LooperExecutor(looper) : null;}
+  /** @return new created executor by current looper, or by the lease of pooled one */
+  @NonNull public static Executor create() {
+    final Handler lease = LooperPool.current();
+    if (lease != null) return new LooperExecutor(lease);
+    final Looper looper = myLooper();
+    return looper != null ? new LooperExecutor(looper) : null;
+  }
 
   /**
    * @param process process priority
@@ -105,6 +131,107 @@ public final class Executors {
   @NonNull public static Executor serial(int process, int thread, @NonNull String name)
   {return ThreadPool.newSerial(new ThreadFactory(process, thread, name));}
 
+  /**
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @param saturation saturation policy
+   * @return new created parallel executor
+   */
+  @NonNull public static Executor parallel(int process, int thread,
+      @NonNull String name, @NonNull Saturation saturation)
+  {return ThreadPool.newParallel(new ThreadFactory(process, thread, name), saturation);}
+
+  /**
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @param saturation saturation policy
+   * @return new created serial executor
+   */
+  @NonNull public static Executor serial(int process, int thread,
+      @NonNull String name, @NonNull Saturation saturation)
+  {return ThreadPool.newSerial(new ThreadFactory(process, thread, name), saturation);}
+
+  /**
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @param saturation saturation policy
+   * @param metrics execution metrics
+   * @return new created instrumented parallel executor
+   */
+  @NonNull public static Executor parallel(int process, int thread, @NonNull String name,
+      @NonNull Saturation saturation, @NonNull Metrics metrics) {
+    return ThreadPool.newParallel
+        (new ThreadFactory(process, thread, name), saturation, metrics);
+  }
+
+  /**
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @param saturation saturation policy
+   * @param metrics execution metrics
+   * @return new created instrumented serial executor
+   */
+  @NonNull public static Executor serial(int process, int thread, @NonNull String name,
+      @NonNull Saturation saturation, @NonNull Metrics metrics) {
+    return ThreadPool.newSerial
+        (new ThreadFactory(process, thread, name), saturation, metrics);
+  }
+
+  /**
+   * Parallel executor with adaptive core size, bounded by the default
+   * core size and the maximum pool size.
+   *
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @param saturation saturation policy
+   * @param listener sizing decisions listener
+   * @return new created adaptive parallel executor
+   */
+  @NonNull public static Executor adaptive(int process, int thread, @NonNull String name,
+      @NonNull Saturation saturation, @NonNull Sizer.Listener listener) {
+    final int cpus = Runtime.getRuntime().availableProcessors();
+    return adaptive(process, thread, name, saturation,
+        Math.max(2, Math.min(cpus - 1, 4)), cpus * 2 + 1, listener);
+  }
+
+  /**
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @param saturation saturation policy
+   * @param min min core size
+   * @param max max core size
+   * @param listener sizing decisions listener
+   * @return new created adaptive parallel executor
+   */
+  @NonNull public static Executor adaptive(int process, int thread, @NonNull String name,
+      @NonNull Saturation saturation, int min, int max, @NonNull Sizer.Listener listener) {
+    Sizer.check(min, max, SIZER_PERIOD); final Metrics metrics = new Metrics();
+    final ThreadPool result = ThreadPool.newParallel
+        (new ThreadFactory(process, thread, name), saturation, metrics);
+    Sizer.start(result, metrics, min, max, SIZER_PERIOD, MILLISECONDS, listener);
+    return result;
+  }
+
+  /**
+   * Work-stealing alternative of {@link #parallel(int, int, String)}.
+   * Suitable for recursive fan-out/fan-in workloads, based on
+   * {@link java.util.concurrent.ForkJoinTask}s or
+   * {@link java.util.concurrent.CompletableFuture}s.
+   *
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @return new created work-stealing executor
+   */
+  @NonNull public static Executor stealing(int process, int thread, @NonNull String name)
+  {return StealingPool.newParallel(new ThreadFactory(process, thread, name));}
+
   /**
    * @param process process priority
    * @param thread thread priority
@@ -115,11 +242,81 @@ public final class Executors {
    */
   @NonNull public static <T extends Closeable> AsyncHolder<T> async
   (int process, int thread, @NonNull String name, @NonNull Supplier<T> module)
-  {return AsyncHolder.fromTask(new Task<>(module, new ThreadFactory(process, thread, name)));}
+  {return AsyncHolder.fromTask(new Task<>(module, LooperPool.of(process, thread), name));}
+
+  /**
+   * Configures the pooled looper threads of async-holders.
+   *
+   * @param idle idle timeout of returned threads
+   * @param unit time unit of timeout
+   */
+  public static void loopers(long idle, @NonNull TimeUnit unit)
+  {LooperPool.idle(idle, unit);}
+
+  /**
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @param aging delay between adjacent lanes
+   * @param unit a {@link TimeUnit} of the aging
+   * @return new created priority-aware executor
+   */
+  @NonNull public static Lanes prioritized(int process, int thread,
+      @NonNull String name, long aging, @NonNull TimeUnit unit)
+  {return new Lanes(ThreadPool.newPriority(new ThreadFactory(process, thread, name)), aging, unit);}
+
+  /**
+   * @param process process priority
+   * @param thread thread priority
+   * @param name thread name
+   * @return new created priority-aware executor
+   */
+  @NonNull public static Lanes prioritized(int process, int thread, @NonNull String name)
+  {return prioritized(process, thread, name, LANES_AGING, MILLISECONDS);}
+
+  /**
+   * @param pool underlying pool
+   * @return new created serial executor, multiplexed on the given pool
+   */
+  @NonNull public static Strand strand(@NonNull Executor pool)
+  {return new Strand(pool);}
+
+  /** @return new created serial executor, multiplexed on the shared pool */
+  @NonNull public static Strand strand()
+  {return new Strand(StrandPool.INSTANCE);}
+
+  /**
+   * Schedules the task on the shared timer thread.
+   * The task should be short and never block.
+   *
+   * @param task the task to execute
+   * @param delay the time from now to delay execution
+   * @param unit the time unit of the delay parameter
+   */
+  static void schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit)
+  {Timer.INSTANCE.schedule(task, delay, unit);}
+
+  /**
+   * Schedules the task on the shared timing wheel.
+   *
+   * @param task the task to execute
+   * @param delay the time from now to delay execution
+   * @param unit the time unit of the delay parameter
+   * @param executor the executor to run the task on
+   * @return handle of timer
+   */
+  @NonNull public static TimingWheel.Timeout schedule(@NonNull Runnable task,
+      long delay, @NonNull TimeUnit unit, @NonNull Executor executor)
+  {return Timer.INSTANCE.schedule(task, delay, unit, executor);}
+
+  /** @return shared executor of parallel teardowns */
+  @NonNull static Executor teardown() {return TeardownPool.INSTANCE;}
 
   /** @param executor an executor for close */
   public static void close(@NonNull Executor executor)
-  {if (executor instanceof ThreadPool) ((ThreadPool) executor).close();}
+  {if (executor instanceof ThreadPool) ((ThreadPool) executor).close();
+  else if (executor instanceof StealingPool) ((StealingPool) executor).close();
+  else if (executor instanceof Lanes) ((Lanes) executor).close();}
 
   /** Check this thread */
   public static void checkWorkerLooper() {
@@ -153,10 +350,16 @@ public final class Executors {
     waitForIdleSync(((LooperExecutor)executor).mHandler.getLooper());
   }
 
+  /** @return true if this call in main thread */
+  public static boolean isMainThread() {
+    final Thread main = MAIN_THREAD;
+    return Thread.currentThread() == (main != null ? main : Looper.getMainLooper().getThread());
+  }
+
   /** @param task task for launch */
   @SuppressWarnings("ConstantConditions")
   public static void runAndWait(@NonNull Runnable task) {
-    if (Thread.currentThread() == Looper.getMainLooper().getThread()) task.run();
+    if (isMainThread()) task.run();
     else
       try {CompletableFuture.runAsync(FrontTask.create(task), MAIN).get();}
       catch (InterruptedException e) {currentThread().interrupt();}
@@ -175,7 +378,14 @@ public final class Executors {
      * @param looper looper instance
      */
     LooperExecutor(@NonNull Looper looper)
-    {mHandler = new Handler(looper);}
+    {this(new Handler(looper));}
+
+    /**
+     * Constructs a new {@link LooperExecutor}
+     * @param handler handler instance
+     */
+    LooperExecutor(@NonNull Handler handler)
+    {mHandler = handler;}
 
     /** {@inheritDoc} */
     @Override public final
@@ -190,6 +400,54 @@ public final class Executors {
     {return mHandler.getLooper();}
   }
 
+  /** Shared pool of teardowns. */
+  private static final class TeardownPool {
+
+    /** Lazy instance. */
+    static final Executor INSTANCE =
+        parallel(WORK_PROCESS, WORK_THREAD, TEARDOWN_NAME, Saturation.callerRuns());
+
+    /**
+     * The caller should be prevented from constructing objects of this class.
+     * Also, this prevents even the native class from calling this constructor.
+     **/
+    private TeardownPool() {throw new AssertionError();}
+  }
+
+  /** Shared pool of strands. */
+  private static final class StrandPool {
+
+    /** Lazy instance. */
+    static final Executor INSTANCE =
+        parallel(WORK_PROCESS, WORK_THREAD, STRAND_NAME, Saturation.callerRuns());
+
+    /**
+     * The caller should be prevented from constructing objects of this class.
+     * Also, this prevents even the native class from calling this constructor.
+     **/
+    private StrandPool() {throw new AssertionError();}
+  }
+
+  /** Shared timer. */
+  private static final class Timer {
+
+    /** Lazy instance. */
+    static final TimingWheel INSTANCE = create();
+
+    /**
+     * The caller should be prevented from constructing objects of this class.
+     * Also, this prevents even the native class from calling this constructor.
+     **/
+    private Timer() {throw new AssertionError();}
+
+    /** @return new created timer */
+    @NonNull private static TimingWheel create() {
+      final ThreadFactory factory = new ThreadFactory(WORK_PROCESS, WORK_THREAD, TIMER_NAME);
+      return new TimingWheel(runnable -> factory.newThread(null, runnable, TIMER_NAME, 0L),
+          TIMER_TICK, MILLISECONDS, TIMER_SIZE);
+    }
+  }
+
   /** Front task runnable  */
   public interface FrontTask
       extends Runnable {
@@ -204,6 +462,20 @@ public final class Executors {
     {return task::run;}
   }
 
+  /** Back task runnable, speculative work like prefetch */
+  public interface BackTask
+      extends Runnable {
+
+    /**
+     * @param task source task
+     * @return wrapped back task
+     */
+    @NonNull static
+    BackTask create
+    (@NonNull Runnable task)
+    {return task::run;}
+  }
+
 
   /**
    * Async Holder for module
@@ -231,8 +503,8 @@ public final class Executors {
 
     /** Lock monitor. */
     private final Object mLock = new Object();
-    /** The looper. */
-    private volatile Looper mLooper = null;
+    /** The leased looper thread. */
+    private final LooperPool.Worker mWorker;
     /** Provided value */
     private volatile T mValue = null;
     /** Value factory. */
@@ -244,21 +516,16 @@ public final class Executors {
      * Constructs a new {@link Task}
      *
      * @param supplier source supplier
+     * @param pool looper threads pool
+     * @param name thread name
      */
-    Task(@NonNull Supplier<T> supplier, @NonNull ThreadFactory factory) {
-      mSupplier = supplier; final Runnable target = this; final long stack = 0L;
-      final ThreadGroup group = null; final String name = null;
-      (factory.newThread(group, target, name, stack)).start();
-    }
+    Task(@NonNull Supplier<T> supplier, @NonNull LooperPool pool, @NonNull String name)
+    {mSupplier = supplier; (mWorker = pool.lease(name)).handler().post(this);}
 
     /** {@inheritDoc} */
     @Override public final void close() {
       if (mClosed) return;
-      final Looper looper = getLooper();
-      final Handler handler = new Handler(looper);
-      final T value = mValue;
-      mValue = null; mLooper = null;
-      obtain(handler, () -> close(value)).sendToTarget();
+      obtain(mWorker.handler(), this::release).sendToTarget();
       synchronized (mLock) {
         while (!mClosed) {
           try {mLock.wait();}
@@ -268,6 +535,16 @@ public final class Executors {
       }
     }
 
+    /** Closes the value and returns the looper thread. */
+    private void release() {
+      final T value = mValue; mValue = null; boolean released = false;
+      try {close(value); mWorker.release(); released = true;}
+      finally {
+        if (!released) mWorker.quit();
+        synchronized (mLock) {mClosed = true; mLock.notifyAll();}
+      }
+    }
+
     /** @param value closeable */
     private static void close
     (@Nullable Object value) {
@@ -276,7 +553,6 @@ public final class Executors {
         try {((Closeable)value).close();}
         catch (IOException e)
         {throw new RuntimeException(e);}
-        requireNonNull(myLooper()).quit();
     }
 
     /** {@inheritDoc} */
@@ -286,38 +562,17 @@ public final class Executors {
 
     /** {@inheritDoc} */
     @Override public final void run() {
-      if (mClosed) return; Looper.prepare();
-      final Looper looper = mLooper; T value = mValue;
       final Supplier<T> factory = mSupplier;
-      if (factory != null && (value == null || looper == null))
-        synchronized (mLock) {
-          if (mSupplier != null) mSupplier = null;
-          if (mLooper == null) mLooper = myLooper();
-          if (mValue == null) mValue = factory.get();
-          mLock.notifyAll();
-        }
-      if (!mClosed) Looper.loop(); /*close(value);*/
-      synchronized (mLock) {mClosed = true; mLock.notifyAll();}
-    }
-
-    /** @return current looper */
-    private Looper getLooper() {
-      if (mLooper == null)
-        synchronized (mLock) {
-          while (mLooper == null) {
-            try {mLock.wait();}
-            catch (InterruptedException e)
-            {currentThread().interrupt();}
-          }
-        }
-      return mLooper;
+      if (mClosed || factory == null) return;
+      final T value = factory.get();
+      synchronized (mLock) {mSupplier = null; mValue = value; mLock.notifyAll();}
     }
 
     /** {@inheritDoc} */
     @Override @NonNull public final T get() {
       if (mValue == null && !mClosed)
         synchronized (mLock) {
-          while (mValue == null) {
+          while (mValue == null && !mClosed) {
             try {mLock.wait();}
             catch (InterruptedException e)
             {currentThread().interrupt();}
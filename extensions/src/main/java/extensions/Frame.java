@@ -0,0 +1,74 @@
+/*
+ * Frame.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Main-thread dispatcher, coalescing cross-thread actions.
+ *
+ * Actions posted from any thread are queued without blocking the caller and
+ * run on the main thread in posting order, all of them within one message of
+ * the main looper. While the main thread is busy with a frame, new actions
+ * join the pending batch instead of sending new messages. The whole batch is
+ * one {@link Propagation} batch, so derived values are evaluated once.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+final class Frame implements Runnable {
+
+  /** Shared instance. */
+  private static final Frame INSTANCE = new Frame();
+
+  /** Pending actions. */
+  private final ConcurrentLinkedQueue<Runnable> mActions = new ConcurrentLinkedQueue<>();
+
+  /** "SCHEDULED" flag-state. */
+  private final AtomicBoolean mScheduled = new AtomicBoolean();
+
+  /** Constructs a new {@link Frame}. */
+  private Frame() {}
+
+  /** @param action action for run on the main thread */
+  @AnyThread static void post(@NonNull Runnable action) {
+    INSTANCE.mActions.offer(action);
+    if (INSTANCE.mScheduled.compareAndSet(false, true))
+      Executors.MAIN.execute(INSTANCE);
+  }
+
+  /** {@inheritDoc} */
+  @MainThread @Override public final void run() {
+    mScheduled.set(false); Propagation.begin();
+    try {for (Runnable action = mActions.poll(); action != null; action = mActions.poll())
+      action.run();} finally {Propagation.end();}
+  }
+}
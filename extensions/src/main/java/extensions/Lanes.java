@@ -0,0 +1,157 @@
+/*
+ * Lanes.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.NonNull;
+
+import java.io.Closeable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Priority-aware executor.
+ *
+ * Tasks are ordered by a virtual deadline: submission time plus the delay of
+ * their {@link Lane}. A task of a lower lane overtakes only the tasks of the
+ * higher lanes submitted less than their delay difference later, so a waiting
+ * task "ages" and is never starved.
+ *
+ * The lane is chosen explicitly, by {@link #execute(Lane, Runnable)} or by
+ * submitting to the executor of {@link #lane(Lane)}; the latter keeps the lane
+ * through wrappers like {@code CompletableFuture.runAsync(task, lanes.lane(CRITICAL))}.
+ * Plain {@link #execute(Runnable)} falls back to marker interfaces of the
+ * runnable: {@link Executors.FrontTask} is {@link Lane#CRITICAL},
+ * {@link Executors.BackTask} is {@link Lane#PREFETCH}, and the rest of tasks
+ * are {@link Lane#NORMAL}.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class Lanes implements Executor, Closeable {
+
+  /** Submission sequence, for FIFO within equal deadlines. */
+  private final AtomicLong mSequence = new AtomicLong();
+
+  /** Underlying pool. */
+  private final ThreadPool mPool;
+
+  /** Aging step, nanos. */
+  private final long mAging;
+
+  /** Per-lane executors. */
+  private final Executor[] mLanes = new Executor[Lane.values().length];
+
+  /**
+   * Constructs a new {@link Lanes}.
+   *
+   * @param pool underlying pool, backed by a priority queue
+   * @param aging delay between adjacent lanes
+   * @param unit a {@link TimeUnit} of the aging
+   */
+  Lanes(@NonNull ThreadPool pool, long aging, @NonNull TimeUnit unit)
+  {
+    mPool = pool; mAging = unit.toNanos(aging);
+    for (final Lane lane : Lane.values())
+      mLanes[lane.ordinal()] = command -> execute(lane, command);
+  }
+
+  /** {@inheritDoc} */
+  @Override public final void execute(@NonNull Runnable command)
+  {execute(Lane.of(command), command);}
+
+  /**
+   * @param lane the lane of task
+   * @param command the runnable task
+   */
+  public final void execute(@NonNull Lane lane, @NonNull Runnable command) {
+    final long deadline = System.nanoTime() + lane.ordinal() * mAging;
+    mPool.execute(new Task(command, deadline, mSequence.getAndIncrement()));
+  }
+
+  /**
+   * @param lane the lane of tasks
+   * @return executor, submitting all its tasks to the given lane
+   */
+  @NonNull public final Executor lane(@NonNull Lane lane)
+  {return mLanes[lane.ordinal()];}
+
+  /** {@inheritDoc} */
+  @Override public final void close() {mPool.close();}
+
+  /** Lane of task. */
+  public enum Lane {
+
+    /** User-visible, latency-sensitive work. */
+    CRITICAL,
+    /** Regular work. */
+    NORMAL,
+    /** Speculative background work. */
+    PREFETCH;
+
+    /**
+     * @param command the runnable task
+     * @return lane of task
+     */
+    @NonNull static Lane of(@NonNull Runnable command) {
+      return command instanceof Executors.FrontTask ? CRITICAL :
+          command instanceof Executors.BackTask ? PREFETCH : NORMAL;
+    }
+  }
+
+  /** Queued task. */
+  private static final class Task implements Runnable, Comparable<Task> {
+
+    /** The runnable task. */
+    private final Runnable mCommand;
+
+    /** Virtual deadline, nanos. */
+    private final long mDeadline;
+
+    /** Submission sequence. */
+    private final long mSequence;
+
+    /**
+     * Constructs a new {@link Task}.
+     *
+     * @param command the runnable task
+     * @param deadline virtual deadline
+     * @param sequence submission sequence
+     */
+    Task(@NonNull Runnable command, long deadline, long sequence)
+    {mCommand = command; mDeadline = deadline; mSequence = sequence;}
+
+    /** {@inheritDoc} */
+    @Override public final void run() {mCommand.run();}
+
+    /** {@inheritDoc} */
+    @Override public final int compareTo(@NonNull Task task) {
+      final long delta = mDeadline - task.mDeadline;
+      return delta != 0 ? (delta < 0 ? -1 : 1) : Long.compare(mSequence, task.mSequence);
+    }
+  }
+}
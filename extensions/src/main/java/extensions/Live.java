@@ -34,11 +34,23 @@ import android.support.annotation.MainThread;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import static extensions.Executors.isMainThread;
 import static extensions.Executors.runAndWait;
 import static java.util.Objects.deepEquals;
 import static java.util.Objects.requireNonNull;
@@ -50,41 +62,155 @@ import static java.util.Objects.requireNonNull;
 @SuppressWarnings({ "WeakerAccess", "unused" })
 public class Live<T> {
 
+  /** No pending value. */
+  private static final Object NONE = new Object();
+
+  /** Frame-coalesced dispatch mode. */
+  private static volatile boolean FRAMED = false;
+
   /** Wrapped live state. */
   private final MutableLiveData<T> mDelegate;
 
+  /** Change detection. */
+  private final Equality<? super T> mEquality;
+
+  /** Propagation rank, zero for independent ones. */
+  private final int mRank;
+
+  /** The latest value, not yet dispatched to the main thread. */
+  private final AtomicReference<Object> mPending = new AtomicReference<>(NONE);
+
+  /** Pending value dispatcher. */
+  private final Runnable mFlush = this::flush;
+
+  /** Version of the latest accepted value, for {@link Equality#VERSION}. */
+  private volatile long mAccepted;
+
+  /** Version of the latest dispatched value, for {@link Equality#VERSION}. */
+  private long mDispatched;
+
   /** Constructs a new {@link Live}.*/
   private Live
-  (@NonNull T initial, @Nullable Listener<T> state, @Nullable Consumer<T>[] consumer)
+  (@NonNull T initial, @Nullable Listener<T> state, @Nullable Consumer<T>[] consumer,
+      @NonNull Equality<? super T> equality)
   {this(state == null ? new MutableLiveData<>() : new MutableLiveData<T>() {
     @Override protected final void onActive() {state.accept(requireNonNull(consumer)[0]);}
     @Override protected final void onInactive() {state.accept(null);}
-  }, initial);}
+  }, initial, equality, 0);}
 
   /**
    * Constructs a new {@link Live}.
    *
    * @param data wrapped live state
+   * @param initial initial value
+   * @param equality change detection
+   * @param rank propagation rank
    */
-  private Live
-  (@NonNull MutableLiveData<T> data, @NonNull T initial)
-  {mDelegate = data; set(initial);}
+  private Live(@NonNull MutableLiveData<T> data, @NonNull T initial,
+      @NonNull Equality<? super T> equality, int rank)
+  {mDelegate = data; mEquality = equality; mRank = rank; set(initial);}
+
+  /**
+   * Switches the cross-thread dispatch mode.
+   *
+   * By default, every change from a background thread blocks the caller until
+   * the main thread applies it. In frame-coalesced mode the caller never waits:
+   * the changes of all {@link Live}s and observer registrations are batched
+   * into a single main-looper message, and only the latest value of each
+   * {@link Live} is dispatched.
+   *
+   * @param enabled true for frame-coalesced mode
+   */
+  @AnyThread public static void framed(boolean enabled) {FRAMED = enabled;}
 
   /** @param value new value */
   @AnyThread protected void set(@NonNull T value) {
-    if (deepEquals(mDelegate.getValue(), value)) return;
-    runAndWait(() -> mDelegate.setValue(value));
+    if (same(peek(), value, mAccepted)) return; mAccepted = version(value);
+    if (FRAMED && !isMainThread()) {post(value); return;}
+    final Object pending = mPending.get();
+    runAndWait(() -> {mPending.compareAndSet(pending, NONE); Propagation.begin();
+      try {deliver(value);} finally {Propagation.end();}});
+  }
+
+  /** @param value new value, dispatched without waiting */
+  @AnyThread void post(@NonNull T value)
+  {if (mPending.getAndSet(value) == NONE) Frame.post(mFlush);}
+
+  /** Dispatches the pending value. */
+  @SuppressWarnings("unchecked")
+  @MainThread private void flush() {
+    final Object value = mPending.getAndSet(NONE);
+    if (value != NONE) apply((T) value);
+  }
+
+  /** @param value new value for apply on the main thread */
+  @MainThread private void apply(@NonNull T value)
+  {if (!same(mDelegate.getValue(), value, mDispatched)) deliver(value);}
+
+  /** @param value new value for dispatch to observers */
+  @MainThread private void deliver(@NonNull T value)
+  {mDispatched = version(value); mDelegate.setValue(value);}
+
+  /**
+   * @param last the last value
+   * @param value the new value
+   * @param version the version of the last value, for {@link Equality#VERSION}
+   *
+   * @return true if values are the same
+   */
+  private boolean same(@Nullable T last, @NonNull T value, long version) {
+    return mEquality == Equality.VERSION ?
+        last != null && version(value) == version : mEquality.same(last, value);
+  }
+
+  /**
+   * @param value the value
+   * @return its version, if the value is {@link Versioned}, zero otherwise
+   */
+  static long version(@Nullable Object value)
+  {return value instanceof Versioned ? ((Versioned) value).version() : 0L;}
+
+  /**
+   * @param last the last observed value, or {@link #NONE}
+   * @param value the new observed value
+   *
+   * @return true if the value is known to be unchanged, in O(1)
+   */
+  @SuppressWarnings("unchecked")
+  private boolean unchanged(@Nullable Object last, @NonNull T value) {
+    if (last == NONE || mEquality == Equality.VERSION) return false;
+    return last == value || mEquality != Equality.DEEP && mEquality.same((T) last, value);
+  }
+
+  /** @return the latest value, including not yet dispatched one */
+  @SuppressWarnings("unchecked")
+  @Nullable private T peek() {
+    final Object value = mPending.get();
+    return value != NONE ? (T) value : mDelegate.getValue();
   }
 
+  /**
+   * @param task task for run on the main thread, with respect of dispatch mode
+   */
+  @AnyThread private static void dispatch(@NonNull Runnable task)
+  {if (FRAMED && !isMainThread()) Frame.post(task); else runAndWait(task);}
+
+  /**
+   * @param task task for run on the main thread later, without waiting
+   */
+  @AnyThread private static void schedule(@NonNull Runnable task)
+  {if (FRAMED) Frame.post(task); else Executors.MAIN.execute(task);}
+
   /**
    * Returns the current value.
    * Note that calling this method on a background thread does not guarantee
-   * that the latest value set will be received.
+   * that the latest value set will be received, unless it was set by the same
+   * thread in frame-coalesced mode.
    *
    * @return the current value
    */
   @NonNull public final T get()
-  {return requireNonNull(mDelegate.getValue());}
+  {return requireNonNull(peek());}
 
   /**
    * Adds the given observer to the observers list within the lifespan of the
@@ -134,7 +260,7 @@ public class Live<T> {
    * @param observer The observer that will receive the events
    */
   @AnyThread public final Live<T> observe(@NonNull Observer<T> observer)
-  {runAndWait(() -> mDelegate.observeForever(observer)); return this;}
+  {dispatch(() -> mDelegate.observeForever(observer)); return this;}
 
   /**
    * Removes the given observer from the observers list.
@@ -142,17 +268,18 @@ public class Live<T> {
    * @param observer The Observer to receive events.
    */
   @AnyThread public final Live<T> unObserve(@NonNull Observer<T> observer)
-  {runAndWait(() -> mDelegate.removeObserver(observer)); return this;}
+  {dispatch(() -> mDelegate.removeObserver(observer)); return this;}
 
   /**
    * Add source.
    *
    * @param mediator mediator live data
-   * @param observer mediator observer
+   * @param node dependent node
    */
+  @SuppressWarnings("unchecked")
   @AnyThread private <U> void addSource
-  (@NonNull MediatorLiveData<U> mediator, @NonNull Observer<T> observer)
-  {runAndWait(() -> mediator.addSource(mDelegate, observer));}
+  (@NonNull MediatorLiveData<U> mediator, @NonNull Propagation.Node node)
+  {dispatch(() -> mediator.addSource(mDelegate, (Observer<T>) (Observer<?>) node));}
 
   /**
    * Add source.
@@ -160,7 +287,10 @@ public class Live<T> {
    * @param mediator mediator live data
    */
   @AnyThread private <U> void removeSource (@NonNull MediatorLiveData<U> mediator)
-  {runAndWait(() -> mediator.removeSource(mDelegate));}
+  {dispatch(() -> mediator.removeSource(mDelegate));}
+
+  /** @return the current main-thread value */
+  @MainThread @Nullable private T current() {return mDelegate.getValue();}
 
   /**
    * @param function mapper
@@ -170,7 +300,18 @@ public class Live<T> {
   @AnyThread @NonNull
   public final <R> Live<R>
   map(@NonNull Function<T, R> function)
-  {return map(this, function);}
+  {return map(this, function, Equality.deep());}
+
+  /**
+   * @param function mapper
+   * @param equality change detection of result
+   * @param <R> new type
+   * @return new live
+   */
+  @AnyThread @NonNull
+  public final <R> Live<R>
+  map(@NonNull Function<T, R> function, @NonNull Equality<? super R> equality)
+  {return map(this, function, equality);}
 
   /**
    * @param function trigger
@@ -180,52 +321,108 @@ public class Live<T> {
   @AnyThread @NonNull
   public final <R> Live<R>
   trigger(@NonNull Function<T, Live<R>> function)
-  {return trigger(this, function);}
+  {return trigger(this, function, Equality.deep());}
+
+  /**
+   * @param function trigger
+   * @param equality change detection of result
+   * @param <R> new type
+   * @return new live
+   */
+  @AnyThread @NonNull
+  public final <R> Live<R>
+  trigger(@NonNull Function<T, Live<R>> function, @NonNull Equality<? super R> equality)
+  {return trigger(this, function, equality);}
 
   /**
    * @param source source live
    * @param function map function
+   * @param equality change detection of result
    * @param <T> source type
    * @param <R> result type
    * @return result live
    */
-  @NonNull private static <T, R> Live<R> map
-      (@NonNull Live<T> source, @NonNull Function<T, R> function) {
-    return new Live.Mutable<>
-        (new MediatorLiveData<R>() {
-          {source.addSource(this, value -> setValue(function.apply(value)));}
-          @Override public final void setValue(R value)
-          {if (!deepEquals(getValue(), value)) super.setValue(value);}
-        }, function.apply(source.get()));
+  @NonNull private static <T, R> Live<R> map(@NonNull Live<T> source,
+      @NonNull Function<T, R> function, @NonNull Equality<? super R> equality) {
+    final T initial = source.get(); final Mediator<R> mediator = new Mediator<>(equality);
+    final Propagation.Node node = new Propagation.Node(source.mRank + 1) {
+      @Nullable private Object mLast = initial;
+      @Override final void evaluate() {
+        final T value = requireNonNull(source.current());
+        if (source.unchanged(mLast, value)) return;
+        mLast = value; mediator.setValue(function.apply(value));
+      }
+    };
+    final Live<R> result = new Live.Mutable<>
+        (mediator, function.apply(initial), equality, node.rank);
+    source.addSource(mediator, node); return result;
+  }
+
+  /**
+   * Maps the values on the given executor, "switch-latest" way: a computation
+   * superseded by a newer value is cancelled if not yet started, and its result
+   * is ignored otherwise. A failed computation keeps the previous result.
+   *
+   * @param executor executor of map function
+   * @param initial the value until the first result
+   * @param function mapper
+   * @param <R> new type
+   * @return new live
+   */
+  @AnyThread @NonNull
+  public final <R> Live<R> mapAsync(@NonNull Executor executor,
+      @NonNull R initial, @NonNull Function<T, R> function)
+  {return mapAsync(executor, initial, function, Equality.deep());}
+
+  /**
+   * @param executor executor of map function
+   * @param initial the value until the first result
+   * @param function mapper
+   * @param equality change detection of result
+   * @param <R> new type
+   * @return new live
+   * @see #mapAsync(Executor, Object, Function)
+   */
+  @AnyThread @NonNull
+  public final <R> Live<R> mapAsync(@NonNull Executor executor, @NonNull R initial,
+      @NonNull Function<T, R> function, @NonNull Equality<? super R> equality)
+  {return mapAsync(executor, initial, function, equality, error -> {});}
+
+  /**
+   * @param executor executor of map function
+   * @param initial the value until the first result
+   * @param function mapper
+   * @param equality change detection of result
+   * @param failure receives failures of the latest computation, on the main thread
+   * @param <R> new type
+   * @return new live
+   * @see #mapAsync(Executor, Object, Function)
+   */
+  @AnyThread @NonNull
+  public final <R> Live<R> mapAsync(@NonNull Executor executor, @NonNull R initial,
+      @NonNull Function<T, R> function, @NonNull Equality<? super R> equality,
+      @NonNull Consumer<? super Throwable> failure) {
+    final Mediator<R> mediator = new Mediator<>(equality);
+    final Async<T, R> node = new Async<>(this, executor, function, mediator, failure);
+    final Live<R> result = new Live.Mutable<>(mediator, initial, equality, node.rank);
+    addSource(mediator, node); node.launch(get()); return result;
   }
 
   /**
    * @param source source live
    * @param function map function
+   * @param equality change detection of result
    * @param <T> source type
    * @param <R> result type
    * @return result live
    */
-  @SuppressWarnings("unchecked")
-  @NonNull private static <T, R> Live<R> trigger
-  (@NonNull Live<T> source, @NonNull Function<T, Live<R>> function) {
-    final Live<R> live; final MediatorLiveData<R> mediator;
-    final Live<R> result = new Live.Mutable<> (
-      mediator = new MediatorLiveData<R>() {
-        @Nullable private Live<R> mChild = null; {
-          source.addSource(this, t -> {
-            final Live<R> newLive = function.apply(t);
-            if (Objects.equals(newLive, mChild)) return;
-            if (mChild != null) mChild.removeSource(this);
-            if ((mChild = newLive) != null)
-            {setValue(mChild.get());
-            mChild.addSource(this, this::setValue);}
-          });
-    }
-      @Override public final void setValue(R value)
-      {if (!deepEquals(getValue(), value)) super.setValue(value);}},
-        (live = function.apply(source.get())).get());
-    live.addSource(mediator, mediator::setValue);
+  @NonNull private static <T, R> Live<R> trigger(@NonNull Live<T> source,
+      @NonNull Function<T, Live<R>> function, @NonNull Equality<? super R> equality) {
+    final Mediator<R> mediator = new Mediator<>(equality);
+    final Switch<T, R> node = new Switch<>(source, function, mediator);
+    final Live<R> result = new Live.Mutable<>(mediator, node.mChild.get(),
+        equality, Math.max(node.rank, node.mForward.rank));
+    source.addSource(mediator, node); node.mChild.addSource(mediator, node.mForward);
     return result;
   }
 
@@ -241,13 +438,85 @@ public class Live<T> {
    * @return          result live
    */
   @NonNull public static <T, U, R> Live<R> combine(@NonNull Live<T> first,
-      @NonNull Live<U> second, @NonNull BiFunction<T, U, R> function) {
-    return new Live.Mutable<>(new MediatorLiveData<R>() {
-      {first.addSource(this, value -> setValue(function.apply(value, second.get())));
-        second.addSource(this, value -> setValue(function.apply(first.get(), value)));}
-      @Override public final void setValue(R value)
-      {if (!deepEquals(getValue(), value)) {super.setValue(value);}}
-    }, function.apply(first.get(), second.get()));
+      @NonNull Live<U> second, @NonNull BiFunction<T, U, R> function)
+  {return combine(first, second, function, Equality.deep());}
+
+  /**
+   * @param first     first live
+   * @param second    second live
+   * @param function  combine function
+   * @param equality  change detection of result
+   *
+   * @param <T>       type of first live
+   * @param <U>       type of second live
+   * @param <R>       type of result live
+   *
+   * @return          result live
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull public static <T, U, R> Live<R> combine(@NonNull Live<T> first,
+      @NonNull Live<U> second, @NonNull BiFunction<T, U, R> function,
+      @NonNull Equality<? super R> equality) {
+    return combine(Arrays.<Live<?>>asList(first, second),
+        values -> function.apply((T) values.get(0), (U) values.get(1)), equality);
+  }
+
+  /**
+   * @param sources   source lives
+   * @param function  combine function, receives the values of sources
+   *
+   * @param <T>       type of source lives
+   * @param <R>       type of result live
+   *
+   * @return          result live
+   */
+  @NonNull public static <T, R> Live<R> combine(@NonNull List<? extends Live<? extends T>>
+      sources, @NonNull Function<List<T>, R> function)
+  {return combine(sources, function, Equality.deep());}
+
+  /**
+   * Combines any number of sources.
+   *
+   * The result is evaluated once per change batch, after all of the sources,
+   * whatever the shape of the graph between them.
+   *
+   * @param sources   source lives
+   * @param function  combine function, receives the values of sources
+   * @param equality  change detection of result
+   *
+   * @param <T>       type of source lives
+   * @param <R>       type of result live
+   *
+   * @return          result live
+   */
+  @NonNull public static <T, R> Live<R> combine(@NonNull List<? extends Live<? extends T>>
+      sources, @NonNull Function<List<T>, R> function, @NonNull Equality<? super R> equality) {
+    final Mediator<R> mediator = new Mediator<>(equality); int rank = 0;
+    for (final Live<? extends T> source : sources) rank = Math.max(rank, source.mRank + 1);
+    final Propagation.Node node = new Propagation.Node(rank) {
+      @Override final void evaluate()
+      {mediator.setValue(function.apply(values(sources, true)));}
+    };
+    final Live<R> result = new Live.Mutable<>
+        (mediator, function.apply(values(sources, false)), equality, rank);
+    for (final Live<? extends T> source : sources) source.addSource(mediator, node);
+    return result;
+  }
+
+  /**
+   * @param sources source lives
+   * @param current true for the main-thread values
+   * @param <T> type of source lives
+   *
+   * @return values of sources
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull private static <T> List<T> values
+  (@NonNull List<? extends Live<? extends T>> sources, boolean current) {
+    final Object[] values = new Object[sources.size()];
+    for (int i = 0; i < values.length; i++) {final Live<? extends T> source = sources.get(i);
+      values[i] = current ? requireNonNull(source.current()) : source.get();}
+    return (List<T>) Arrays.asList(values);
   }
 
   /** {@inheritDoc} */
@@ -266,6 +535,9 @@ public class Live<T> {
   @Override public final String toString()
   {return String.valueOf(mDelegate.getValue());}
 
+  /** @return new transaction */
+  @AnyThread @NonNull public static Transaction transaction() {return new Transaction();}
+
   /**
    * Create Live-Object.
    *
@@ -276,20 +548,47 @@ public class Live<T> {
    */
   @SuppressWarnings("unchecked")
   @NonNull public static <T> Mutable<T> create(@NonNull T initial)
-  {return new Mutable<>(initial, null, null);}
+  {return new Mutable<>(initial, null, null, Equality.deep());}
 
   /**
    * Create Live-Object.
    *
    * @param initial initial value
+   * @param equality change detection
+   * @param <T> type of data
+   *
+   * @return Live Mutable
+   */
+  @NonNull public static <T> Mutable<T> create
+  (@NonNull T initial, @NonNull Equality<? super T> equality)
+  {return new Mutable<>(initial, null, null, equality);}
+
+  /**
+   * Create Live-Object.
+   *
+   * @param initial initial value
+   * @param <T> type of data
+   *
+   * @return Live Mutable
+   */
+  @NonNull public static <T> Mutable<T> create(@NonNull T initial, @NonNull Listener<T> state)
+  {return create(initial, state, Equality.deep());}
+
+  /**
+   * Create Live-Object.
+   *
+   * @param initial initial value
+   * @param state state listener
+   * @param equality change detection
    * @param <T> type of data
    *
    * @return Live Mutable
    */
   @SuppressWarnings({ "unchecked", "MismatchedReadAndWriteOfArray" })
-  @NonNull public static <T> Mutable<T> create(@NonNull T initial, @NonNull Listener<T> state) {
+  @NonNull public static <T> Mutable<T> create(@NonNull T initial,
+      @NonNull Listener<T> state, @NonNull Equality<? super T> equality) {
     final Consumer<T>[] cons; final Mutable<T> mutable =
-      new Mutable<>(initial, state, cons = new Consumer[1]);
+      new Mutable<>(initial, state, cons = new Consumer[1], equality);
     try {return mutable;} finally {cons[0] = mutable::set;}
   }
 
@@ -316,6 +615,59 @@ public class Live<T> {
     @MainThread void onNonNullChanged(@NonNull T value);
   }
 
+  /**
+   * Change detection strategy.
+   *
+   * @param <T> type of data
+   */
+  @FunctionalInterface
+  public interface Equality<T> {
+
+    /** Deep equality, O(n) for arrays and collections. */
+    Equality<Object> DEEP = Objects::deepEquals;
+
+    /** Identity, O(1). */
+    Equality<Object> IDENTITY = (first, second) -> first == second;
+
+    /**
+     * Version stamps, O(1).
+     *
+     * A {@link Live} or {@link Signal} compares the version of a new value with the version of
+     * the value it dispatched last, so a value mutated in place and set again
+     * with a bumped version is a change. As a standalone function it can't see
+     * such mutations, so it reports only two nulls as the same.
+     */
+    Equality<Versioned> VERSION = (first, second) -> first == null && second == null;
+
+    /**
+     * @param first first value
+     * @param second second value
+     *
+     * @return true if values are the same
+     */
+    boolean same(@Nullable T first, @Nullable T second);
+
+    /** @return deep equality, O(n) for arrays and collections */
+    @SuppressWarnings("unchecked")
+    @NonNull static <T> Equality<T> deep() {return (Equality<T>) DEEP;}
+
+    /** @return identity, O(1) */
+    @SuppressWarnings("unchecked")
+    @NonNull static <T> Equality<T> identity() {return (Equality<T>) IDENTITY;}
+
+    /** @return version stamps, O(1) */
+    @SuppressWarnings("unchecked")
+    @NonNull static <T extends Versioned> Equality<T> version() {return (Equality<T>) VERSION;}
+  }
+
+  /** Version-stamped value. */
+  @FunctionalInterface
+  public interface Versioned {
+
+    /** @return monotonic version, changed on every modification */
+    long version();
+  }
+
   /** State changes listener. */
   @FunctionalInterface
   public interface Listener<T> {
@@ -328,6 +680,171 @@ public class Live<T> {
     void accept(@Nullable Consumer<T> mutable);
   }
 
+  /**
+   * Mediator of derived {@link Live}.
+   *
+   * @param <R> type of data
+   */
+  private static final class Mediator<R> extends MediatorLiveData<R> {
+
+    /** Change detection. */
+    private final Equality<? super R> mEquality;
+
+    /** Version of the latest value, for {@link Equality#VERSION}. */
+    private long mVersion;
+
+    /**
+     * Constructs a new {@link Mediator}.
+     *
+     * @param equality change detection
+     */
+    Mediator(@NonNull Equality<? super R> equality) {mEquality = equality;}
+
+    /** {@inheritDoc} */
+    @Override public final void setValue(R value) {
+      if (mEquality != Equality.VERSION) {if (mEquality.same(getValue(), value)) return;}
+      else if (getValue() != null && version(value) == mVersion) return;
+      mVersion = version(value); super.setValue(value);
+    }
+  }
+
+  /**
+   * Switching node of {@link #trigger(Function)}.
+   *
+   * The rank of forwarding follows the rank of the current child, so the
+   * switching itself is glitch-free, but the result may be evaluated out of
+   * order, when the child is ranked higher than the result.
+   *
+   * @param <T> source type
+   * @param <R> result type
+   */
+  private static final class Switch<T, R> extends Propagation.Node {
+
+    /** Source live. */
+    private final Live<T> mSource;
+
+    /** Trigger function. */
+    private final Function<T, Live<R>> mFunction;
+
+    /** Mediator live data. */
+    private final Mediator<R> mMediator;
+
+    /** Forwarding of the current child. */
+    final Propagation.Node mForward;
+
+    /** Current child. */
+    @Nullable Live<R> mChild;
+
+    /**
+     * Constructs a new {@link Switch}.
+     *
+     * @param source source live
+     * @param function trigger function
+     * @param mediator mediator live data
+     */
+    Switch(@NonNull Live<T> source, @NonNull Function<T, Live<R>> function,
+        @NonNull Mediator<R> mediator) {
+      super(source.mRank + 1); mSource = source; mFunction = function; mMediator = mediator;
+      mChild = requireNonNull(function.apply(source.get()));
+      mForward = new Propagation.Node(mChild.mRank + 1) {
+        @Override final void evaluate() {
+          final Live<R> child = mChild;
+          if (child != null) mMediator.setValue(child.current());
+        }
+      };
+    }
+
+    /** {@inheritDoc} */
+    @Override final void evaluate() {
+      final Live<R> child = mFunction.apply(mSource.current());
+      if (child == mChild) return;
+      if (mChild != null) mChild.removeSource(mMediator);
+      if ((mChild = child) == null) return;
+      Propagation.rank(mForward, child.mRank + 1); mMediator.setValue(child.current());
+      child.addSource(mMediator, mForward);
+    }
+  }
+
+  /**
+   * Asynchronous node of {@link #mapAsync(Executor, Object, Function)}.
+   *
+   * Results are posted to the main thread without blocking the computing
+   * thread; stale results are dropped there, and failures go to the callback.
+   *
+   * @param <T> source type
+   * @param <R> result type
+   */
+  private static final class Async<T, R> extends Propagation.Node {
+
+    /** Source live. */
+    private final Live<T> mSource;
+
+    /** Executor of map function. */
+    private final Executor mExecutor;
+
+    /** Map function. */
+    private final Function<T, R> mFunction;
+
+    /** Mediator live data. */
+    private final Mediator<R> mMediator;
+
+    /** Failures callback. */
+    private final Consumer<? super Throwable> mFailure;
+
+    /** The latest computation. */
+    @Nullable private CompletableFuture<R> mFuture = null;
+
+    /** The latest source value. */
+    @Nullable private Object mLast = NONE;
+
+    /** Generation of the latest computation. */
+    private volatile int mGeneration;
+
+    /**
+     * Constructs a new {@link Async}.
+     *
+     * @param source source live
+     * @param executor executor of map function
+     * @param function map function
+     * @param mediator mediator live data
+     * @param failure failures callback
+     */
+    Async(@NonNull Live<T> source, @NonNull Executor executor,
+        @NonNull Function<T, R> function, @NonNull Mediator<R> mediator,
+        @NonNull Consumer<? super Throwable> failure) {
+      super(source.mRank + 1); mSource = source; mExecutor = executor;
+      mFunction = function; mMediator = mediator; mFailure = failure;
+    }
+
+    /** {@inheritDoc} */
+    @Override final void evaluate() {
+      final T value = requireNonNull(mSource.current());
+      if (!mSource.unchanged(mLast, value)) launch(value);
+    }
+
+    /** @param value source value */
+    final synchronized void launch(@NonNull T value) {
+      final CompletableFuture<R> previous = mFuture;
+      if (previous != null) previous.cancel(false);
+      final int generation = ++mGeneration; mLast = value;
+      (mFuture = CompletableFuture.supplyAsync(() -> mFunction.apply(value), mExecutor))
+          .whenComplete((result, error) -> schedule(() -> publish(generation, result, error)));
+    }
+
+    /**
+     * @param generation generation of computation
+     * @param result computed value
+     * @param error computation failure
+     */
+    @MainThread private void publish(int generation, @Nullable R result, @Nullable Throwable error) {
+      if (generation != mGeneration) return;
+      if (error instanceof CompletionException) error = error.getCause();
+      if (error instanceof CancellationException) return;
+      if (error != null) {mFailure.accept(error); return;}
+      Propagation.begin(); try {mMediator.setValue(result);} finally {Propagation.end();}
+    }
+  }
+
   /**
    * Mutable Live
    *
@@ -340,23 +857,205 @@ public class Live<T> {
      *
      *  @param initial initial data
      *  @param state state listener
+     *  @param equality change detection
      */
     private Mutable(@NonNull T initial, @Nullable Listener<T> state,
-      @Nullable Consumer<T>[] consumer) {super(initial, state, consumer);}
+      @Nullable Consumer<T>[] consumer, @NonNull Equality<? super T> equality)
+    {super(initial, state, consumer, equality);}
 
     /**
      * Constructs a new {@link Live}.
      *
      * @param data wrapped live data
      * @param initial initial value
+     * @param equality change detection
+     * @param rank propagation rank
      */
-    private Mutable
-    (@NonNull MutableLiveData<T> data, @NonNull T initial)
-    {super(data, initial);}
+    private Mutable(@NonNull MutableLiveData<T> data, @NonNull T initial,
+      @NonNull Equality<? super T> equality, int rank)
+    {super(data, initial, equality, rank);}
 
     /** @param value new value */
     @Override public final void
     set(@NonNull T value)
     {super.set(value);}
+
+    /**
+     * Values written to the returned input are passed to this {@link Live}
+     * only after the given delay of silence.
+     *
+     * @param delay the delay of silence
+     * @param unit a {@link TimeUnit} of the delay
+     *
+     * @return rate-limited input
+     */
+    @NonNull public final Consumer<T> debounce(long delay, @NonNull TimeUnit unit)
+    {return new Rate<>(this, Rate.DEBOUNCE, unit.toNanos(delay));}
+
+    /**
+     * Values written to the returned input are passed to this {@link Live}
+     * at most once per the given period: the first one immediately, and then
+     * the latest one at the end of each period.
+     *
+     * @param period the period
+     * @param unit a {@link TimeUnit} of the period
+     *
+     * @return rate-limited input
+     */
+    @NonNull public final Consumer<T> throttleLatest(long period, @NonNull TimeUnit unit)
+    {return new Rate<>(this, Rate.THROTTLE, unit.toNanos(period));}
+
+    /**
+     * The latest value written to the returned input is passed to this
+     * {@link Live} at the end of each period.
+     *
+     * @param period the period
+     * @param unit a {@link TimeUnit} of the period
+     *
+     * @return rate-limited input
+     */
+    @NonNull public final Consumer<T> sample(long period, @NonNull TimeUnit unit)
+    {return new Rate<>(this, Rate.SAMPLE, unit.toNanos(period));}
+  }
+
+  /**
+   * Atomic multi-value update.
+   *
+   * Stages writes to many {@link Live}s and commits them within one
+   * main-thread dispatch and one {@link Propagation} batch: the observers
+   * never see torn intermediate states, and every derived {@link Live} is
+   * evaluated once per commit.
+   *
+   * A value posted to a staged {@link Live} before the commit is superseded by
+   * the staged one, while a value posted after the commit wins over it.
+   *
+   * Not thread-safe, should be built by one thread.
+   */
+  public static final class Transaction {
+
+    /** Staged lives. */
+    private final ArrayList<Live<?>> mLives = new ArrayList<>();
+
+    /** Staged values. */
+    private final ArrayList<Object> mValues = new ArrayList<>();
+
+    /** Indices of staged lives. */
+    private final IdentityHashMap<Live<?>, Integer> mIndices = new IdentityHashMap<>();
+
+    /** Constructs a new {@link Transaction}. */
+    Transaction() {}
+
+    /**
+     * Stages the value, replacing the previous staged value of the same live.
+     *
+     * @param live target live
+     * @param value new value
+     * @param <T> type of data
+     *
+     * @return this transaction
+     */
+    @NonNull public final <T> Transaction set(@NonNull Mutable<T> live, @NonNull T value) {
+      final Integer index = mIndices.get(live);
+      if (index != null) {mValues.set(index, value); return this;}
+      mIndices.put(live, mLives.size()); mLives.add(live); mValues.add(value);
+      return this;
+    }
+
+    /** Commits staged values and clears this transaction. */
+    @AnyThread public final void commit() {
+      if (mLives.isEmpty()) return;
+      final Live<?>[] lives = mLives.toArray(new Live<?>[mLives.size()]);
+      final Object[] values = mValues.toArray(), pending = new Object[lives.length];
+      for (int i = 0; i < lives.length; i++) pending[i] = lives[i].mPending.get();
+      mLives.clear(); mValues.clear(); mIndices.clear();
+      dispatch(() -> apply(lives, values, pending));
+    }
+
+    /**
+     * @param lives staged lives
+     * @param values staged values
+     * @param pending values pending at the commit, superseded by staged ones
+     */
+    @SuppressWarnings("unchecked")
+    @MainThread private static void apply
+    (@NonNull Live<?>[] lives, @NonNull Object[] values, @NonNull Object[] pending) {
+      Propagation.begin();
+      try {for (int i = 0; i < lives.length; i++) {final Live<Object> live = (Live<Object>) lives[i];
+        live.mPending.compareAndSet(pending[i], NONE); live.apply(values[i]);}}
+      finally {Propagation.end();}
+    }
+  }
+
+  /**
+   * Rate-limited input of {@link Live}.
+   *
+   * Keeps only the latest written value, so the intermediate ones are dropped
+   * before crossing threads. Timing is driven by the shared timer of
+   * {@link Executors}, armed only while there are values to pass.
+   *
+   * @param <T> type of data
+   */
+  private static final class Rate<T> implements Consumer<T>, Runnable {
+
+    /** Modes. */
+    static final int DEBOUNCE = 0, THROTTLE = 1, SAMPLE = 2;
+
+    /** Target live. */
+    private final Live<T> mTarget;
+
+    /** Mode. */
+    private final int mMode;
+
+    /** Period, nanos. */
+    private final long mPeriod;
+
+    /** The latest value, not yet passed. */
+    private final AtomicReference<Object> mLatest = new AtomicReference<>(NONE);
+
+    /** "SCHEDULED" flag-state. */
+    private final AtomicBoolean mScheduled = new AtomicBoolean();
+
+    /** The end of silence, nanos. */
+    private volatile long mDeadline;
+
+    /**
+     * Constructs a new {@link Rate}.
+     *
+     * @param target target live
+     * @param mode mode
+     * @param period period, nanos
+     */
+    Rate(@NonNull Live<T> target, int mode, long period)
+    {mTarget = target; mMode = mode; mPeriod = period;}
+
+    /** {@inheritDoc} */
+    @Override public final void accept(@NonNull T value) {
+      mLatest.set(value);
+      if (mMode == DEBOUNCE) mDeadline = System.nanoTime() + mPeriod;
+      if (mScheduled.compareAndSet(false, true)) start();
+    }
+
+    /** {@inheritDoc} */
+    @Override public final void run() {
+      if (mMode == DEBOUNCE) {final long left = mDeadline - System.nanoTime();
+        if (left > 0) {Executors.schedule(this, left, TimeUnit.NANOSECONDS); return;}}
+      if (emit() && mMode != DEBOUNCE) {Executors.schedule(this, mPeriod, TimeUnit.NANOSECONDS); return;}
+      mScheduled.set(false);
+      if (mLatest.get() != NONE && mScheduled.compareAndSet(false, true)) start();
+    }
+
+    /** Arms the timer. */
+    private void start() {
+      if (mMode == THROTTLE) emit();
+      Executors.schedule(this, mPeriod, TimeUnit.NANOSECONDS);
+    }
+
+    /** @return true if the latest value was passed */
+    @SuppressWarnings("unchecked")
+    private boolean emit() {
+      final Object value = mLatest.getAndSet(NONE);
+      if (value == NONE) return false;
+      mTarget.post((T) value); return true;
+    }
   }
 }
@@ -0,0 +1,300 @@
+/*
+ * LooperPool.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.support.annotation.AnyThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Thread.currentThread;
+
+/**
+ * Pool of reusable Looper threads.
+ *
+ * Modules lease a prepared {@link Looper} and return it on close. A worker
+ * is returned by a message, posted to the end of its queue, so the messages
+ * pending at that moment are drained first. Idle workers quit after the
+ * idle timeout.
+ *
+ * Each lease has its own {@link Handler}, also behind the executors of
+ * {@link Executors#create()} on the leased thread. On return, the messages
+ * of the lease are removed, and the ones it posts later are dropped, so the
+ * next lessee never runs the work of the previous one. A worker whose queue
+ * still has due messages of other handlers quits instead of return.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+final class LooperPool {
+
+  /** Pools by priorities. */
+  private static final ConcurrentMap<Long, LooperPool> POOLS = new ConcurrentHashMap<>();
+
+  /** Worker of the current thread. */
+  private static final ThreadLocal<LooperWorker> CURRENT = new ThreadLocal<>();
+
+  /** Idle thread name. */
+  private static final String IDLE_NAME = "Looper";
+
+  /** Default idle timeout, millis. */
+  private static final long IDLE_TIMEOUT = 30_000L;
+
+  /** Idle timeout, millis. */
+  private static volatile long IDLE = IDLE_TIMEOUT;
+
+  /** Idle workers, most recent last. */
+  private final Deque<Worker> mIdle = new ArrayDeque<>();
+
+  /** Threads number. */
+  private final AtomicInteger mNumber = new AtomicInteger();
+
+  /** Workers factory. */
+  private final Factory mFactory;
+
+  /**
+   * Constructs a new {@link LooperPool}.
+   *
+   * @param factory workers factory
+   */
+  LooperPool(@NonNull Factory factory) {mFactory = factory;}
+
+  /**
+   * @param process process priority
+   * @param thread thread priority
+   *
+   * @return shared pool of the priorities
+   */
+  @NonNull static LooperPool of(int process, int thread) {
+    return POOLS.computeIfAbsent(((long) process << Integer.SIZE) | (thread & 0xFFFFFFFFL),
+        key -> {final ThreadFactory factory = new ThreadFactory(process, thread);
+          return new LooperPool((pool, name) -> new LooperWorker(pool, factory, name));});
+  }
+
+  /**
+   * @param timeout idle timeout of workers
+   * @param unit time unit of timeout
+   */
+  static void idle(long timeout, @NonNull TimeUnit unit)
+  {IDLE = Math.max(0L, unit.toMillis(timeout));}
+
+  /** @return handler of the lease of the current thread, or null */
+  @Nullable static Handler current() {
+    final LooperWorker worker = CURRENT.get();
+    return worker != null ? worker.mLease : null;
+  }
+
+  /** @return count of idle workers */
+  final synchronized int size() {return mIdle.size();}
+
+  /**
+   * @param name thread name of lessee
+   * @return leased worker with prepared looper
+   */
+  @AnyThread @NonNull final Worker lease(@NonNull String name) {
+    final Worker result;
+    synchronized (this) {result = mIdle.pollLast();}
+    if (result == null) return mFactory.create(this, name);
+    result.lease(name); return result;
+  }
+
+  /**
+   * Should be called on the worker thread.
+   *
+   * @param worker worker for return
+   */
+  final void release(@NonNull Worker worker) {
+    if (!worker.clear()) {worker.quit(); return;}
+    worker.park(IDLE_NAME + "-" + mNumber.incrementAndGet());
+    synchronized (this) {mIdle.addLast(worker);}
+    worker.expire(IDLE);
+  }
+
+  /** @param worker worker for expire */
+  final void expire(@NonNull Worker worker) {
+    synchronized (this) {if (!mIdle.remove(worker)) return;}
+    worker.quit();
+  }
+
+  /** Workers factory. */
+  @FunctionalInterface
+  interface Factory {
+
+    /**
+     * @param pool owner pool
+     * @param name thread name of lessee
+     *
+     * @return new leased worker
+     */
+    @NonNull Worker create(@NonNull LooperPool pool, @NonNull String name);
+  }
+
+  /** Pooled thread. */
+  abstract static class Worker {
+
+    /** Owner pool. */
+    final LooperPool mPool;
+
+    /**
+     * Constructs a new {@link Worker}.
+     *
+     * @param pool owner pool
+     */
+    Worker(@NonNull LooperPool pool) {mPool = pool;}
+
+    /** @return the looper */
+    @NonNull abstract Looper looper();
+
+    /** @return the handler of the current lease */
+    @NonNull abstract Handler handler();
+
+    /**
+     * Starts a new lease of an idle worker, cancelling its expiry.
+     *
+     * @param name thread name of lessee
+     */
+    abstract void lease(@NonNull String name);
+
+    /**
+     * Ends the current lease, removing its messages.
+     *
+     * @return true if no other messages are due
+     */
+    abstract boolean clear();
+
+    /** @param name thread name of idle worker */
+    abstract void park(@NonNull String name);
+
+    /** @param timeout idle timeout, millis */
+    abstract void expire(long timeout);
+
+    /** Quits the worker. */
+    abstract void quit();
+
+    /** Returns the worker to the pool. */
+    final void release() {mPool.release(this);}
+  }
+
+  /** Looper thread. */
+  private static final class LooperWorker extends Worker implements Runnable {
+
+    /** Expire task. */
+    private final Runnable mExpire = () -> mPool.expire(this);
+
+    /** The thread. */
+    private final Thread mThread;
+
+    /** The looper. */
+    private volatile Looper mLooper;
+
+    /** The handler of pool. */
+    private volatile Handler mHandler;
+
+    /** The handler of current lease. */
+    private volatile Lease mLease;
+
+    /**
+     * Constructs a new {@link LooperWorker}.
+     *
+     * @param pool owner pool
+     * @param factory thread factory
+     * @param name thread name
+     */
+    LooperWorker(@NonNull LooperPool pool, @NonNull ThreadFactory factory, @NonNull String name) {
+      super(pool); (mThread = factory.newThread(null, this, name, 0L)).start();
+      synchronized (this) {
+        while (mHandler == null)
+          try {wait();}
+          catch (InterruptedException e) {currentThread().interrupt();}
+      }
+      mLease = new Lease(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public final void run() {
+      Looper.prepare(); CURRENT.set(this);
+      synchronized (this)
+      {mLooper = Looper.myLooper(); mHandler = new Handler(mLooper); notifyAll();}
+      Looper.loop();
+    }
+
+    /** {@inheritDoc} */
+    @Override @NonNull final Looper looper() {return mLooper;}
+
+    /** {@inheritDoc} */
+    @Override @NonNull final Handler handler() {return mLease;}
+
+    /** {@inheritDoc} */
+    @Override final void lease(@NonNull String name) {
+      mHandler.removeCallbacks(mExpire);
+      mThread.setName(name); mLease = new Lease(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override final boolean clear() {
+      final Lease lease = mLease; mLease = null;
+      if (lease != null) lease.removeCallbacksAndMessages(null);
+      return mLooper.getQueue().isIdle();
+    }
+
+    /** {@inheritDoc} */
+    @Override final void park(@NonNull String name) {mThread.setName(name);}
+
+    /** {@inheritDoc} */
+    @Override final void expire(long timeout) {mHandler.postDelayed(mExpire, timeout);}
+
+    /** {@inheritDoc} */
+    @Override final void quit() {mLooper.quit();}
+  }
+
+  /** Handler of one lease, dropping its messages after the lease. */
+  private static final class Lease extends Handler {
+
+    /** Leased worker. */
+    private final LooperWorker mWorker;
+
+    /**
+     * Constructs a new {@link Lease}.
+     *
+     * @param worker leased worker
+     */
+    Lease(@NonNull LooperWorker worker) {super(worker.mLooper); mWorker = worker;}
+
+    /** {@inheritDoc} */
+    @Override public final void dispatchMessage(@NonNull Message message)
+    {if (mWorker.mLease == this) super.dispatchMessage(message);}
+  }
+}
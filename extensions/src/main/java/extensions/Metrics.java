@@ -0,0 +1,240 @@
+/*
+ * Metrics.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution metrics of {@link ThreadPool}.
+ *
+ * Records queue-wait time, run time, active and completed counts. All of the
+ * recording is lock-free and allocation-free: histograms are fixed arrays of
+ * power-of-two buckets, and the per-thread start time lives in a one-element
+ * array allocated once per worker.
+ *
+ * Queue-wait time is measured from the stamp of the future, that the metered
+ * {@link ThreadPool} creates in {@code submit}, so it costs no extra object.
+ * Plain {@code execute} and {@code CompletableFuture.*Async} tasks are not
+ * stamped and count in run time only, unless the saturation policy of the
+ * pool stamps them itself. A task counts as failed when it throws, or when it
+ * is a completed {@link Future} holding an exception, as the ones created by
+ * {@code submit}.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class Metrics {
+
+  /** Queue-wait time, nanos. */
+  private final Histogram mWait = new Histogram();
+  /** Run time, nanos. */
+  private final Histogram mRun = new Histogram();
+
+  /** Active tasks. */
+  private final AtomicInteger mActive = new AtomicInteger();
+  /** Peak of active tasks. */
+  private final AtomicInteger mPeak = new AtomicInteger();
+
+  /** Completed tasks. */
+  private final LongAdder mCompleted = new LongAdder();
+  /** Failed tasks. */
+  private final LongAdder mFailed = new LongAdder();
+
+  /** Start time of current task, per worker thread. */
+  private final ThreadLocal<long[]> mStart = ThreadLocal.withInitial(() -> new long[1]);
+
+  /** Constructs a new {@link Metrics}. */
+  public Metrics() {}
+
+  /** @param runnable the task that will be executed */
+  void beforeExecute(@NonNull Runnable runnable) {
+    final long now = System.nanoTime(); mStart.get()[0] = now;
+    if (runnable instanceof ThreadPool.Stamped) mWait.record(now - ((ThreadPool.Stamped) runnable).time());
+    final int active = mActive.incrementAndGet();
+    if (active > mPeak.get()) mPeak.accumulateAndGet(active, Math::max);
+  }
+
+  /**
+   * @param runnable the runnable that has completed
+   * @param throwable the exception that caused termination
+   */
+  void afterExecute(@NonNull Runnable runnable, Throwable throwable) {
+    mRun.record(System.nanoTime() - mStart.get()[0]);
+    mActive.decrementAndGet(); mCompleted.increment();
+    if (throwable != null || failed(ThreadPool.unwrap(runnable))) mFailed.increment();
+  }
+
+  /**
+   * @param task the completed task
+   * @return true if the task is a future, completed exceptionally
+   */
+  private static boolean failed(@NonNull Runnable task) {
+    if (!(task instanceof Future) || !((Future<?>) task).isDone()) return false;
+    try {((Future<?>) task).get(); return false;}
+    catch (ExecutionException exception) {return true;}
+    catch (CancellationException exception) {return false;}
+    catch (InterruptedException exception)
+    {Thread.currentThread().interrupt(); return false;}
+  }
+
+  /** @return current state of metrics */
+  @NonNull public final Snapshot snapshot() {
+    return new Snapshot(mWait.snapshot(), mRun.snapshot(),
+        mActive.get(), mPeak.get(), mCompleted.sum(), mFailed.sum());
+  }
+
+  /** {@inheritDoc} */
+  @Override @NonNull public final String toString()
+  {return snapshot().toString();}
+
+  /** Lock-free histogram with power-of-two buckets. */
+  static final class Histogram {
+
+    /** Number of buckets. */
+    private static final int SIZE = Long.SIZE;
+
+    /** Bucket "i" counts values in [2^(i-1), 2^i). */
+    private final AtomicLongArray mBuckets = new AtomicLongArray(SIZE);
+    /** Sum of values. */
+    private final LongAdder mSum = new LongAdder();
+    /** Max value. */
+    private final AtomicLong mMax = new AtomicLong();
+
+    /** @param value value for record */
+    final void record(long value) {
+      if (value < 0) value = 0;
+      mBuckets.incrementAndGet(Math.min(SIZE - Long.numberOfLeadingZeros(value), SIZE - 1));
+      mSum.add(value); if (value > mMax.get()) mMax.accumulateAndGet(value, Math::max);
+    }
+
+    /** @return current state of histogram */
+    @NonNull final Distribution snapshot() {
+      final long[] buckets = new long[SIZE];
+      for (int i = 0; i < SIZE; i++) buckets[i] = mBuckets.get(i);
+      return new Distribution(buckets, mSum.sum(), mMax.get());
+    }
+  }
+
+  /** Immutable state of a histogram. */
+  public static final class Distribution {
+
+    /** Number of values. */
+    public final long count;
+    /** Sum of values. */
+    public final long sum;
+    /** Max value. */
+    public final long max;
+
+    /** Buckets. */
+    private final long[] mBuckets;
+
+    /**
+     * Constructs a new {@link Distribution}.
+     *
+     * @param buckets power-of-two buckets
+     * @param sum sum of values
+     * @param max max value
+     */
+    Distribution(@NonNull long[] buckets, long sum, long max) {
+      long count = 0; for (final long bucket : buckets) count += bucket;
+      mBuckets = buckets; this.count = count; this.sum = sum; this.max = max;
+    }
+
+    /** @return mean value */
+    public final long mean() {return count == 0 ? 0 : sum / count;}
+
+    /**
+     * @param percent percentile, from 0 to 100
+     * @return upper bound of the bucket containing the percentile
+     */
+    public final long percentile(@IntRange(from = 0, to = 100) int percent) {
+      final long rank = (long) Math.ceil(count * percent / 100.0); long seen = 0;
+      for (int i = 0; i < mBuckets.length; i++)
+        if ((seen += mBuckets[i]) >= rank && seen > 0)
+          return Math.min(i == 0 ? 0 : (1L << i) - 1, max);
+      return max;
+    }
+
+    /** {@inheritDoc} */
+    @Override @NonNull public final String toString() {
+      return "{" + "count=" + count + ", mean=" + mean()
+          + ", p50=" + percentile(50) + ", p99=" + percentile(99)
+          + ", max=" + max + '}';
+    }
+  }
+
+  /** Immutable state of metrics. */
+  public static final class Snapshot {
+
+    /** Queue-wait time, nanos. */
+    @NonNull public final Distribution wait;
+    /** Run time, nanos. */
+    @NonNull public final Distribution run;
+
+    /** Active tasks. */
+    public final int active;
+    /** Peak of active tasks. */
+    public final int peak;
+
+    /** Completed tasks. */
+    public final long completed;
+    /** Failed tasks. */
+    public final long failed;
+
+    /**
+     * Constructs a new {@link Snapshot}.
+     *
+     * @param wait queue-wait time
+     * @param run run time
+     * @param active active tasks
+     * @param peak peak of active tasks
+     * @param completed completed tasks
+     * @param failed failed tasks
+     */
+    Snapshot(@NonNull Distribution wait, @NonNull Distribution run,
+        int active, int peak, long completed, long failed) {
+      this.wait = wait; this.run = run; this.active = active;
+      this.peak = peak; this.completed = completed; this.failed = failed;
+    }
+
+    /** {@inheritDoc} */
+    @Override @NonNull public final String toString() {
+      return "Metrics{" + "wait=" + wait + ", run=" + run
+          + ", active=" + active + ", peak=" + peak
+          + ", completed=" + completed + ", failed=" + failed + '}';
+    }
+  }
+}
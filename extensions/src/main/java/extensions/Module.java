@@ -28,7 +28,9 @@ package extensions;
 import android.support.annotation.NonNull;
 
 import java.io.Closeable;
-import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.Stack;
 
 import javax.inject.Named;
@@ -45,20 +47,30 @@ import dagger.Provides;
   /** Closeable dependencies. */
   @NonNull private final Stack mCloseables = new Stack<>();
 
+  /** Ordered teardown. */
+  @NonNull private final Teardown mTeardown = new Teardown();
+
   /** Closed state. */
   private volatile boolean mClosed;
 
-  /** {@inheritDoc} */
-  @Override protected final void finalize() throws Throwable
-  {try {close();} finally {super.finalize();}}
-
-  /** {@inheritDoc} */
+  /**
+   * Closes the stacked closeables sequentially, in LIFO order, and the
+   * closeables registered in {@link #teardown()} by their dependencies,
+   * in parallel where independent.
+   */
   @Override public final void close() {
     if (mClosed) return; mClosed = true;
+    final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    Closeable last = null;
     while (!mCloseables.empty()) {
-      try {((Closeable)mCloseables.pop()).close();}
-      catch (IOException ignored) {}
+      final Closeable closeable = (Closeable) mCloseables.pop();
+      if (!seen.add(closeable)) continue;
+      if (last == null) mTeardown.register(closeable);
+      else try {mTeardown.register(last, closeable);}
+      catch (IllegalArgumentException conflict) {mTeardown.register(closeable);}
+      last = closeable;
     }
+    mTeardown.close(Executors.teardown());
   }
 
   /** @return closeable dependencies. */
@@ -67,6 +79,11 @@ import dagger.Provides;
   protected final Stack closeables()
   {return mCloseables;}
 
+  /** @return ordered teardown */
+  @Provides @Named("teardown") @NonNull
+  protected final Teardown teardown()
+  {return mTeardown;}
+
   /** @return module */
   @Provides @Named("module") @NonNull protected final
   Closeable module() {return this;}
@@ -0,0 +1,114 @@
+/*
+ * Propagation.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+
+import java.util.PriorityQueue;
+
+/**
+ * Glitch-free propagation of {@link Live} changes.
+ *
+ * Every derived {@link Live} has a rank, greater than the ranks of all its
+ * sources. Changes made within a batch only mark the dependent nodes as dirty,
+ * and when the outermost batch ends, the dirty nodes are evaluated in rank
+ * order. So every node is evaluated at most once per batch, and always after
+ * all of its sources, never observing an intermediate state.
+ *
+ * Main-thread confined.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+final class Propagation {
+
+  /** Dirty nodes, by rank. */
+  private static final PriorityQueue<Node> QUEUE =
+      new PriorityQueue<>((first, second) -> Integer.compare(first.rank, second.rank));
+
+  /** Depth of nested batches. */
+  private static int DEPTH = 0;
+
+  /**
+   * The caller should be prevented from constructing objects of this class.
+   * Also, this prevents even the native class from calling this constructor.
+   **/
+  private Propagation() {throw new AssertionError();}
+
+  /** Begins a batch. */
+  @MainThread static void begin() {DEPTH++;}
+
+  /** Ends a batch, evaluates dirty nodes if it was the outermost one. */
+  @MainThread static void end() {
+    if (DEPTH > 1) {DEPTH--; return;}
+    try {for (Node node = QUEUE.poll(); node != null; node = QUEUE.poll())
+      {node.mDirty = false; node.evaluate();}}
+    finally {DEPTH = 0; for (Node node = QUEUE.poll(); node != null; node = QUEUE.poll())
+      node.mDirty = false;}
+  }
+
+  /** @param node a node, whose source has changed */
+  @MainThread static void schedule(@NonNull Node node) {
+    if (DEPTH == 0) {node.evaluate(); return;}
+    if (node.mDirty) return; node.mDirty = true; QUEUE.add(node);
+  }
+
+  /**
+   * Changes the rank of node, keeping the order of dirty nodes consistent.
+   *
+   * @param node a node
+   * @param rank new rank of node
+   */
+  @MainThread static void rank(@NonNull Node node, int rank) {
+    if (node.rank == rank) return;
+    if (!node.mDirty) {node.rank = rank; return;}
+    QUEUE.remove(node); node.rank = rank; QUEUE.add(node);
+  }
+
+  /** Derived node. */
+  abstract static class Node implements Live.Observer<Object> {
+
+    /** Rank of node. */
+    int rank;
+
+    /** "DIRTY" flag-state. */
+    private boolean mDirty;
+
+    /**
+     * Constructs a new {@link Node}.
+     *
+     * @param rank rank of node
+     */
+    Node(int rank) {this.rank = rank;}
+
+    /** Evaluates this node. */
+    @MainThread abstract void evaluate();
+
+    /** {@inheritDoc} */
+    @Override public final void onNonNullChanged(@NonNull Object value) {schedule(this);}
+  }
+}
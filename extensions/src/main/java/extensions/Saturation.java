@@ -0,0 +1,184 @@
+/*
+ * Saturation.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Saturation policy of {@link ThreadPool}.
+ *
+ * Decides what to do with a task when both the queue and the pool are full.
+ * Every policy counts how many times it was asked ({@link #rejected()}) and
+ * how many tasks it has thrown away ({@link #shed()}). Shed tasks that are
+ * {@link Future}s are cancelled, so nobody waits for them forever.
+ *
+ * Policies that enqueue the task themselves re-check the executor after the
+ * enqueue, so a task accepted concurrently with a shutdown is taken back and
+ * rejected, the same way {@link ThreadPoolExecutor#execute(Runnable)} does it.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public abstract class Saturation implements RejectedExecutionHandler {
+
+  /** Rejections counter. */
+  private final LongAdder mRejected = new LongAdder();
+
+  /** Shed tasks counter. */
+  private final LongAdder mShed = new LongAdder();
+
+  /** Constructs a new {@link Saturation}. */
+  Saturation() {}
+
+  /** {@inheritDoc} */
+  @Override public final void rejectedExecution
+  (@NonNull Runnable task, @NonNull ThreadPoolExecutor executor) {
+    mRejected.increment();
+    if (!executor.isShutdown()) saturated(task, executor);
+    else throw new RejectedExecutionException("Executor is shut down");
+  }
+
+  /**
+   * @param task the task requested to be executed
+   * @param executor the saturated executor
+   */
+  abstract void saturated(@NonNull Runnable task, @NonNull ThreadPoolExecutor executor);
+
+  /** @return true if the policy needs the enqueue time of tasks */
+  boolean stamped() {return false;}
+
+  /** @param task the task for throw away */
+  final void shed(@NonNull Runnable task) {
+    mShed.increment(); task = ThreadPool.unwrap(task);
+    if (task instanceof Future)
+      ((Future<?>) task).cancel(false);
+  }
+
+  /**
+   * @param task the task for enqueue
+   * @param executor the saturated executor
+   * @param timeout how long to wait before giving up
+   * @param unit a {@link TimeUnit} of the timeout
+   *
+   * @return true if the task was enqueued
+   */
+  static boolean offer(@NonNull Runnable task, @NonNull ThreadPoolExecutor executor,
+      long timeout, @NonNull TimeUnit unit) {
+    final boolean result;
+    try {result = executor.getQueue().offer(task, timeout, unit);}
+    catch (InterruptedException exception)
+    {Thread.currentThread().interrupt(); return false;}
+    if (result && executor.isShutdown() && executor.getQueue().remove(task))
+      throw new RejectedExecutionException("Executor is shut down");
+    return result;
+  }
+
+  /** @return total number of rejections */
+  public final long rejected() {return mRejected.sum();}
+
+  /** @return total number of thrown away tasks */
+  public final long shed() {return mShed.sum();}
+
+  /** @return throws {@link RejectedExecutionException}, default behavior */
+  @NonNull public static Saturation abort() {
+    return new Saturation() {
+      @Override final void saturated
+      (@NonNull Runnable task, @NonNull ThreadPoolExecutor executor)
+      {throw new RejectedExecutionException("Task " + task + " rejected from " + executor);}
+    };
+  }
+
+  /** @return runs the task on the caller thread, slowing the producer down */
+  @NonNull public static Saturation callerRuns() {
+    return new Saturation() {
+      @Override final void saturated
+      (@NonNull Runnable task, @NonNull ThreadPoolExecutor executor) {task.run();}
+    };
+  }
+
+  /**
+   * @param timeout how long the caller may be blocked
+   * @param unit a {@link TimeUnit} of the timeout
+   *
+   * @return blocks the caller until the queue has room, throws
+   * {@link RejectedExecutionException} when the timeout elapses
+   */
+  @NonNull public static Saturation block(long timeout, @NonNull TimeUnit unit) {
+    return new Saturation() {
+      @Override final void saturated
+      (@NonNull Runnable task, @NonNull ThreadPoolExecutor executor) {
+        if (!offer(task, executor, timeout, unit))
+          throw new RejectedExecutionException("Task " + task + " timed out");
+      }
+    };
+  }
+
+  /** @return throws away the oldest queued task to make room for the new one */
+  @NonNull public static Saturation dropOldest() {
+    return new Saturation() {
+      @Override final void saturated
+      (@NonNull Runnable task, @NonNull ThreadPoolExecutor executor) {
+        final Runnable oldest = executor.getQueue().poll();
+        if (oldest != null) shed(oldest); executor.execute(task);
+      }
+    };
+  }
+
+  /**
+   * Bounded-latency shedding. Requires a {@link ThreadPool}, which stamps its
+   * queued tasks with the enqueue time.
+   *
+   * @param latency the maximum time a task may wait in the queue
+   * @param unit a {@link TimeUnit} of the latency
+   *
+   * @return never blocks the caller: throws away the queued tasks, that have
+   * waited longer than the given latency, to make room for the new one, or
+   * the new task, if none of them is stale yet
+   */
+  @NonNull public static Saturation shedding(long latency, @NonNull TimeUnit unit) {
+    final long bound = unit.toNanos(latency);
+    return new Saturation() {
+      @Override final boolean stamped() {return true;}
+      @Override final void saturated
+      (@NonNull Runnable task, @NonNull ThreadPoolExecutor executor) {
+        final BlockingQueue<Runnable> queue = executor.getQueue(); final long now = System.nanoTime();
+        for (Runnable head = queue.peek(); head instanceof ThreadPool.Stamped &&
+            now - ((ThreadPool.Stamped) head).time() > bound; head = queue.peek())
+          if (queue.remove(head)) shed(head);
+        if (!offer(task, executor, 0L, unit)) shed(task);
+      }
+    };
+  }
+}
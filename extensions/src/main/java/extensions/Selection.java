@@ -106,6 +106,22 @@ public final class Selection<T> {
         .collect(Collectors.toCollection(LinkedHashSet::new)), orphanIds, selection);
   }
 
+  /**
+   * Создаёт экземпляр {@link Selection} поверх готовых представлений,
+   * без копирования.
+   *
+   * @param items контент-элементы, обёрнутые в {@link Selectable}.
+   * @param orphanIds холостые идентификаторы
+   * @param selection множество идентификаторов выбранных
+   *
+   * @param <T> тип одного элемента данных
+   *
+   * @return Контейнер-обёртка выбранных элементов.
+   */
+  @NonNull static <T> Selection<T> of(@NonNull Set<Selectable<T>> items,
+      @NonNull Set<Integer> orphanIds, @NonNull Set<Integer> selection)
+  {return new Selection<>(items, orphanIds, selection);}
+
   /**
    * Преобразует текущую выборку к заданному типу.
    *
@@ -0,0 +1,417 @@
+/*
+ * Signal.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Off-main counterpart of {@link Live}.
+ *
+ * Has the same {@code map}/{@code trigger}/{@code combine} surface, but never
+ * touches the main looper, nor {@code LiveData}: observers are kept in a
+ * copy-on-write array, and changes are delivered on the executor chosen for
+ * the root {@link Signal}s (use a serial one to keep the order of deliveries).
+ * Derived {@link Signal}s are evaluated on the delivering thread, and are
+ * subscribed to their sources only while observed themselves.
+ *
+ * Unlike {@link Live}, changes are pushed depth-first, without ranking: when
+ * a derived signal depends on one source through several paths (a "diamond",
+ * like {@code combine(first, combine(first, second))}), its observers may
+ * receive an intermediate value, computed before all of the paths have been
+ * updated, right before the final one.
+ *
+ * @param <T> type of data
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "WeakerAccess", "unused" })
+public class Signal<T> {
+
+  /** No observers. */
+  private static final Consumer<?>[] EMPTY = new Consumer<?>[0];
+
+  /** Synchronous delivery. */
+  private static final Executor DIRECT = Runnable::run;
+
+  /** Current value. */
+  private final AtomicReference<T> mValue;
+
+  /** Change detection. */
+  private final Live.Equality<? super T> mEquality;
+
+  /** Delivery executor. */
+  private final Executor mExecutor;
+
+  /** Version of the current value, for {@link Live.Equality#VERSION}. */
+  private volatile long mVersion;
+
+  /** Observers, copy-on-write. */
+  private volatile Consumer<? super T>[] mObservers = observers(0);
+
+  /**
+   * Constructs a new {@link Signal}.
+   *
+   * @param initial initial value
+   * @param executor delivery executor
+   * @param equality change detection
+   */
+  private Signal(@NonNull T initial, @NonNull Executor executor,
+      @NonNull Live.Equality<? super T> equality) {
+    mValue = new AtomicReference<>(requireNonNull(initial));
+    mExecutor = executor; mEquality = equality; mVersion = Live.version(initial);
+  }
+
+  /** @return the current value */
+  @AnyThread @NonNull public T get() {return mValue.get();}
+
+  /** @param value new value */
+  @AnyThread void set(@NonNull T value) {
+    requireNonNull(value);
+    for (T current = mValue.get(); !same(current, value); current = mValue.get())
+      if (mValue.compareAndSet(current, value)) {mVersion = Live.version(value); deliver(value); return;}
+  }
+
+  /**
+   * @param current the current value
+   * @param value the new value
+   *
+   * @return true if values are the same
+   */
+  private boolean same(@NonNull T current, @NonNull T value) {
+    return mEquality == Live.Equality.VERSION ?
+        Live.version(value) == mVersion : mEquality.same(current, value);
+  }
+
+  /** @param value new value for deliver to observers */
+  private void deliver(@NonNull T value) {
+    final Consumer<? super T>[] observers = mObservers;
+    if (observers.length == 0) return;
+    mExecutor.execute(() -> {for (final Consumer<? super T> observer : observers) observer.accept(value);});
+  }
+
+  /**
+   * Adds the given observer. Observers receive changes made after the call,
+   * the current value can be obtained by {@link #get()}.
+   *
+   * @param observer the observer that will receive the changes
+   *
+   * @return this signal
+   */
+  @AnyThread @NonNull public final Signal<T> observe(@NonNull Consumer<? super T> observer) {
+    final boolean activate;
+    synchronized (this) {
+      final Consumer<? super T>[] observers = mObservers;
+      for (final Consumer<? super T> item : observers) if (item == observer) return this;
+      final Consumer<? super T>[] result = Arrays.copyOf(observers, observers.length + 1);
+      result[observers.length] = observer; mObservers = result;
+      activate = observers.length == 0;
+    }
+    if (activate) onActive(); return this;
+  }
+
+  /**
+   * Removes the given observer.
+   *
+   * @param observer the observer to remove
+   *
+   * @return this signal
+   */
+  @AnyThread @NonNull public final Signal<T> unObserve(@NonNull Consumer<? super T> observer) {
+    final boolean deactivate;
+    synchronized (this) {
+      final Consumer<? super T>[] observers = mObservers; int index = -1;
+      for (int i = 0; i < observers.length; i++) if (observers[i] == observer) index = i;
+      if (index == -1) return this;
+      final Consumer<? super T>[] result = observers(observers.length - 1);
+      System.arraycopy(observers, 0, result, 0, index);
+      System.arraycopy(observers, index + 1, result, index, result.length - index);
+      mObservers = result; deactivate = result.length == 0;
+    }
+    if (deactivate) onInactive(); return this;
+  }
+
+  /**
+   * @param length length of array
+   * @param <T> type of data
+   *
+   * @return new array of observers, or the shared empty one
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull private static <T> Consumer<? super T>[] observers(int length)
+  {return (Consumer<? super T>[]) (length == 0 ? EMPTY : new Consumer<?>[length]);}
+
+  /** @return true if this signal has observers */
+  @AnyThread public final boolean isActive() {return mObservers.length > 0;}
+
+  /** Calls when this signal got the first observer. */
+  void onActive() {}
+
+  /** Calls when this signal lost the last observer. */
+  void onInactive() {}
+
+  /**
+   * @param function mapper
+   * @param <R> new type
+   * @return new signal
+   */
+  @AnyThread @NonNull
+  public final <R> Signal<R> map(@NonNull Function<T, R> function)
+  {return map(function, Live.Equality.deep());}
+
+  /**
+   * @param function mapper
+   * @param equality change detection of result
+   * @param <R> new type
+   * @return new signal
+   */
+  @AnyThread @NonNull public final <R> Signal<R>
+  map(@NonNull Function<T, R> function, @NonNull Live.Equality<? super R> equality) {
+    final Signal<T> source = this;
+    return new Derived<R>(function.apply(get()), equality) {
+      private final Consumer<T> mObserver = value -> set(function.apply(value));
+      @Override final void onActive() {source.observe(mObserver); refresh();}
+      @Override final void onInactive() {source.unObserve(mObserver);}
+      @Override @NonNull final R compute() {return function.apply(source.get());}
+    };
+  }
+
+  /**
+   * @param function trigger
+   * @param <R> new type
+   * @return new signal
+   */
+  @AnyThread @NonNull
+  public final <R> Signal<R> trigger(@NonNull Function<T, Signal<R>> function)
+  {return trigger(function, Live.Equality.deep());}
+
+  /**
+   * @param function trigger
+   * @param equality change detection of result
+   * @param <R> new type
+   * @return new signal
+   */
+  @AnyThread @NonNull public final <R> Signal<R>
+  trigger(@NonNull Function<T, Signal<R>> function, @NonNull Live.Equality<? super R> equality) {
+    final Signal<T> source = this;
+    return new Derived<R>(function.apply(get()).get(), equality) {
+      @Nullable private Signal<R> mChild = null;
+      private final Consumer<R> mForward = this::set;
+      private final Consumer<T> mObserver = value -> swap(function.apply(value));
+      @Override final void onActive() {source.observe(mObserver); swap(function.apply(source.get()));}
+      @Override final void onInactive() {source.unObserve(mObserver); swap(null);}
+      @Override @NonNull final R compute() {return function.apply(source.get()).get();}
+      private synchronized void swap(@Nullable Signal<R> child) {
+        if (child == mChild) return;
+        if (mChild != null) mChild.unObserve(mForward);
+        if ((mChild = child) != null) {child.observe(mForward); set(child.get());}
+      }
+    };
+  }
+
+  /**
+   * @param first     first signal
+   * @param second    second signal
+   * @param function  combine function
+   *
+   * @param <T>       type of first signal
+   * @param <U>       type of second signal
+   * @param <R>       type of result signal
+   *
+   * @return          result signal
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull public static <T, U, R> Signal<R> combine(@NonNull Signal<T> first,
+      @NonNull Signal<U> second, @NonNull BiFunction<T, U, R> function) {
+    return combine(Arrays.<Signal<?>>asList(first, second),
+        values -> function.apply((T) values.get(0), (U) values.get(1)));
+  }
+
+  /**
+   * @param sources   source signals
+   * @param function  combine function, receives the values of sources
+   *
+   * @param <T>       type of source signals
+   * @param <R>       type of result signal
+   *
+   * @return          result signal
+   */
+  @NonNull public static <T, R> Signal<R> combine(@NonNull List<? extends Signal<? extends T>>
+      sources, @NonNull Function<List<T>, R> function)
+  {return combine(sources, function, Live.Equality.deep());}
+
+  /**
+   * @param sources   source signals
+   * @param function  combine function, receives the values of sources
+   * @param equality  change detection of result
+   *
+   * @param <T>       type of source signals
+   * @param <R>       type of result signal
+   *
+   * @return          result signal
+   */
+  @NonNull public static <T, R> Signal<R> combine(@NonNull List<? extends Signal<? extends T>>
+      sources, @NonNull Function<List<T>, R> function, @NonNull Live.Equality<? super R> equality) {
+    return new Derived<R>(function.apply(values(sources)), equality) {
+      private final Consumer<Object> mObserver = value -> refresh();
+      @Override final void onActive()
+      {for (final Signal<? extends T> source : sources) source.observe(mObserver); refresh();}
+      @Override final void onInactive()
+      {for (final Signal<? extends T> source : sources) source.unObserve(mObserver);}
+      @Override @NonNull final R compute() {return function.apply(values(sources));}
+    };
+  }
+
+  /**
+   * @param sources source signals
+   * @param <T> type of source signals
+   *
+   * @return values of sources
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull private static <T> List<T> values(@NonNull List<? extends Signal<? extends T>> sources) {
+    final Object[] values = new Object[sources.size()];
+    for (int i = 0; i < values.length; i++) values[i] = sources.get(i).get();
+    return (List<T>) Arrays.asList(values);
+  }
+
+  /** {@inheritDoc} */
+  @Override public final boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (!(obj instanceof Signal)) return false;
+    final Signal<?> that = (Signal<?>) obj;
+    return Objects.deepEquals(get(), that.get());
+  }
+
+  /** {@inheritDoc} */
+  @Override public final int hashCode()
+  {return Objects.hash(get().hashCode());}
+
+  /** {@inheritDoc} */
+  @Override public final String toString()
+  {return String.valueOf(mValue.get());}
+
+  /**
+   * Create Signal-Object, delivering changes on the setting thread.
+   *
+   * @param initial initial value
+   * @param <T> type of data
+   *
+   * @return Signal Mutable
+   */
+  @NonNull public static <T> Mutable<T> create(@NonNull T initial)
+  {return new Mutable<>(initial, DIRECT, Live.Equality.deep());}
+
+  /**
+   * Create Signal-Object.
+   *
+   * @param initial initial value
+   * @param executor delivery executor
+   * @param <T> type of data
+   *
+   * @return Signal Mutable
+   */
+  @NonNull public static <T> Mutable<T> create(@NonNull T initial, @NonNull Executor executor)
+  {return new Mutable<>(initial, executor, Live.Equality.deep());}
+
+  /**
+   * Create Signal-Object.
+   *
+   * @param initial initial value
+   * @param executor delivery executor
+   * @param equality change detection
+   * @param <T> type of data
+   *
+   * @return Signal Mutable
+   */
+  @NonNull public static <T> Mutable<T> create(@NonNull T initial,
+      @NonNull Executor executor, @NonNull Live.Equality<? super T> equality)
+  {return new Mutable<>(initial, executor, equality);}
+
+  /**
+   * Derived signal.
+   *
+   * Evaluated on the delivering thread of its sources while observed,
+   * and on demand otherwise.
+   *
+   * @param <R> type of data
+   */
+  private abstract static class Derived<R> extends Signal<R> {
+
+    /**
+     * Constructs a new {@link Derived}.
+     *
+     * @param initial initial value
+     * @param equality change detection
+     */
+    Derived(@NonNull R initial, @NonNull Live.Equality<? super R> equality)
+    {super(initial, DIRECT, equality);}
+
+    /** @return value computed from the current values of sources */
+    @NonNull abstract R compute();
+
+    /** Re-evaluates this signal. */
+    final void refresh() {set(compute());}
+
+    /** {@inheritDoc} */
+    @Override @NonNull public final R get()
+    {if (!isActive()) refresh(); return super.get();}
+  }
+
+  /**
+   * Mutable Signal
+   *
+   * @param <T> type of data
+   */
+  public static final class Mutable<T> extends Signal<T> {
+
+    /**
+     * Constructs a new {@link Signal.Mutable}.
+     *
+     * @param initial initial value
+     * @param executor delivery executor
+     * @param equality change detection
+     */
+    private Mutable(@NonNull T initial, @NonNull Executor executor,
+        @NonNull Live.Equality<? super T> equality) {super(initial, executor, equality);}
+
+    /** @param value new value */
+    @Override public final void set(@NonNull T value) {super.set(value);}
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Sizer.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.NonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive core-size controller of a thread pool.
+ *
+ * Samples the pool {@link Metrics} periodically. By Little's law the mean
+ * count of busy threads is throughput multiplied by run time, which is the
+ * run time spent per sampling period. The target core size is that demand
+ * with some headroom, plus the threads needed to drain the queue backlog
+ * within one period. Growth is applied at once, shrinking only after
+ * {@link #SHRINK_SAMPLES} consecutive lower targets.
+ *
+ * The controller holds the pool weakly, and stops itself when the pool is
+ * shut down or collected.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class Sizer implements Runnable {
+
+  /** Target utilization of core threads. */
+  private static final double UTILIZATION = 0.75;
+
+  /** Consecutive lower samples before shrinking. */
+  private static final int SHRINK_SAMPLES = 3;
+
+  /** Controlled pool. */
+  private final WeakReference<ThreadPoolExecutor> mPool;
+
+  /** Metrics of pool. */
+  private final Metrics mMetrics;
+
+  /** Bounds of core size. */
+  private final int mMin, mMax;
+
+  /** Sampling period, nanos. */
+  private final long mPeriod;
+
+  /** Decisions listener. */
+  private final Listener mListener;
+
+  /** Previous sample. */
+  private Metrics.Snapshot mLast;
+
+  /** Previous sample time, nanos. */
+  private long mTime;
+
+  /** Consecutive lower samples. */
+  private int mLower = 0;
+
+  /** Max target among lower samples. */
+  private int mLowerTarget = 0;
+
+  /**
+   * Constructs a new {@link Sizer}.
+   *
+   * @param pool controlled pool
+   * @param metrics metrics of pool
+   * @param min min core size
+   * @param max max core size
+   * @param period sampling period
+   * @param unit time unit of period
+   * @param listener decisions listener
+   */
+  Sizer(@NonNull ThreadPoolExecutor pool, @NonNull Metrics metrics, int min, int max,
+      long period, @NonNull TimeUnit unit, @NonNull Listener listener) {
+    check(min, max, period);
+    mPool = new WeakReference<>(pool); mMetrics = metrics; mListener = listener;
+    mMin = min; mMax = max; mPeriod = unit.toNanos(period);
+    mLast = metrics.snapshot(); mTime = System.nanoTime();
+  }
+
+  /**
+   * @param min min core size
+   * @param max max core size
+   * @param period sampling period
+   */
+  static void check(int min, int max, long period) {
+    if (min < 1 || min > max || period <= 0)
+      throw new IllegalArgumentException(min + ".." + max + ", " + period);
+  }
+
+  /**
+   * Applies the bounds to the pool and starts sampling.
+   *
+   * @param pool controlled pool
+   * @param metrics metrics of pool
+   * @param min min core size
+   * @param max max core size
+   * @param period sampling period
+   * @param unit time unit of period
+   * @param listener decisions listener
+   *
+   * @return started controller
+   */
+  @NonNull static Sizer start(@NonNull ThreadPoolExecutor pool, @NonNull Metrics metrics,
+      int min, int max, long period, @NonNull TimeUnit unit, @NonNull Listener listener) {
+    final Sizer result = new Sizer(pool, metrics, min, max, period, unit, listener);
+    if (max > pool.getMaximumPoolSize()) pool.setMaximumPoolSize(max);
+    pool.setCorePoolSize(min);
+    Executors.schedule(result, result.mPeriod, TimeUnit.NANOSECONDS); return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override public final void run() {
+    final ThreadPoolExecutor pool = mPool.get();
+    if (pool == null || pool.isShutdown()) return;
+    final Metrics.Snapshot next = mMetrics.snapshot(); final long time = System.nanoTime();
+    try {mListener.onSample(sample(pool, mLast, next, Math.max(1L, time - mTime)));}
+    finally {mLast = next; mTime = time; Executors.schedule(this, mPeriod, TimeUnit.NANOSECONDS);}
+  }
+
+  /**
+   * Takes one sample and resizes the pool.
+   *
+   * @param pool controlled pool
+   * @param last previous sample
+   * @param next current sample
+   * @param elapsed time between samples, positive nanos
+   *
+   * @return the decision
+   */
+  @NonNull final Decision sample(@NonNull ThreadPoolExecutor pool,
+      @NonNull Metrics.Snapshot last, @NonNull Metrics.Snapshot next, long elapsed) {
+    final long completed = next.completed - last.completed;
+    final double busy = (double) (next.run.sum - last.run.sum) / elapsed,
+        throughput = completed * 1e9 / elapsed;
+    final long mean = completed == 0 ? next.run.mean() : (next.run.sum - last.run.sum) / completed;
+    final int backlog = pool.getQueue().size(), core = pool.getCorePoolSize();
+    final double drain = (double) backlog * mean / mPeriod;
+    final int target = Math.max(mMin, Math.min(Math.min(mMax, pool.getMaximumPoolSize()),
+        (int) Math.ceil(busy / UTILIZATION + drain)));
+    int result = core;
+    if (target > core) {result = target; mLower = 0;}
+    else if (target < core) {
+      mLowerTarget = mLower == 0 ? target : Math.max(mLowerTarget, target);
+      if (++mLower >= SHRINK_SAMPLES) {result = mLowerTarget; mLower = 0;}
+    } else mLower = 0;
+    if (result != core) pool.setCorePoolSize(result);
+    return new Decision(core, result, target, busy, throughput, backlog);
+  }
+
+  /** Decisions listener. */
+  @FunctionalInterface
+  public interface Listener {
+
+    /** Nothing to listen. */
+    Listener NONE = decision -> {};
+
+    /** @param decision the decision of one sample */
+    void onSample(@NonNull Decision decision);
+  }
+
+  /** Immutable decision of one sample. */
+  public static final class Decision {
+
+    /** Core size before the sample. */
+    public final int from;
+    /** Core size after the sample. */
+    public final int to;
+    /** Target core size, before hysteresis. */
+    public final int target;
+
+    /** Mean count of busy threads. */
+    public final double busy;
+    /** Completed tasks per second. */
+    public final double throughput;
+    /** Queue length. */
+    public final int backlog;
+
+    /**
+     * Constructs a new {@link Decision}.
+     *
+     * @param from core size before the sample
+     * @param to core size after the sample
+     * @param target target core size
+     * @param busy mean count of busy threads
+     * @param throughput completed tasks per second
+     * @param backlog queue length
+     */
+    Decision(int from, int to, int target, double busy, double throughput, int backlog) {
+      this.from = from; this.to = to; this.target = target;
+      this.busy = busy; this.throughput = throughput; this.backlog = backlog;
+    }
+
+    /** @return true if the pool was resized */
+    public final boolean isResized() {return from != to;}
+
+    /** {@inheritDoc} */
+    @Override @NonNull public final String toString() {
+      return "Decision{" + "from=" + from + ", to=" + to + ", target=" + target
+          + ", busy=" + String.format("%.2f", busy)
+          + ", throughput=" + String.format("%.1f", throughput)
+          + ", backlog=" + backlog + '}';
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * StealingPool.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.NonNull;
+
+import java.io.Closeable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work-Stealing Thread Pool.
+ *
+ * Every worker owns its deque and steals from the others when idle, so there
+ * is no single queue lock to contend on, and a task joining its own subtasks
+ * helps to run them instead of parking the worker.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("unused")
+final class StealingPool extends ForkJoinPool implements Closeable {
+
+  /** Default time unit. */
+  private static final TimeUnit TIME_UNIT = TimeUnit.SECONDS;
+
+  /** LIFO-mode for locally forked subtasks. */
+  private static final boolean ASYNC = false;
+
+  /** "CLOSE" flag-state. */
+  private volatile boolean mClosed;
+
+  /**
+   * Constructs a new {@link StealingPool}.
+   *
+   * @param parallelism the parallelism level
+   * @param factory the factory for creating new threads
+   */
+  private StealingPool(int parallelism, @NonNull ForkJoinWorkerThreadFactory factory)
+  {super(parallelism, factory, null, ASYNC);}
+
+  /** {@inheritDoc} */
+  @Override public final void close()
+  {if (mClosed) return; stop(); mClosed = true;}
+
+  /** Stop the pool. */
+  private void stop() {
+    final long time = 1L; shutdownNow();
+    try {awaitTermination(time, TIME_UNIT);}
+    catch (InterruptedException exception)
+    {Thread.currentThread().interrupt();}
+  }
+
+  /**
+   * @param factory the fork-join thread factory
+   * @return Stealing Pool instance
+   */
+  @SuppressWarnings("WeakerAccess")
+  static StealingPool newParallel(@NonNull ForkJoinWorkerThreadFactory factory) {
+    /*
+     * Workers never block on the queue, and joins are "helping", so there is
+     * no need for spare threads: one worker per CPU is enough.
+     */
+    final int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+    return new StealingPool(parallelism, factory);
+  }
+}
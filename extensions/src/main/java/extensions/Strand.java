@@ -0,0 +1,141 @@
+/*
+ * Strand.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serial executor, multiplexed on a shared pool.
+ *
+ * Runs its tasks one at a time in FIFO order, borrowing a thread of the
+ * underlying pool only while it has work. After {@link #QUANTUM} tasks the
+ * strand yields the thread and re-enters the pool's queue, so the strands
+ * sharing one pool take turns.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class Strand implements Executor {
+
+  /** Max tasks per turn. */
+  private static final int QUANTUM = 16;
+
+  /** The strand drained by the current thread. */
+  private static final ThreadLocal<Object> DRAINING = new ThreadLocal<>();
+
+  /** Marks a turn, that the pool ran on the draining thread itself. */
+  private static final Object BOUNCED = new Object();
+
+  /** Pending tasks. */
+  private final ConcurrentLinkedQueue<Runnable> mTasks = new ConcurrentLinkedQueue<>();
+
+  /** Queued and running tasks. */
+  private final AtomicInteger mDepth = new AtomicInteger();
+
+  /** Drain task. */
+  private final Runnable mDrain = this::drain;
+
+  /** Underlying pool. */
+  private final Executor mPool;
+
+  /**
+   * Constructs a new {@link Strand}.
+   *
+   * @param pool underlying pool
+   */
+  Strand(@NonNull Executor pool) {mPool = pool;}
+
+  /** {@inheritDoc} */
+  @Override public final void execute(@NonNull Runnable command)
+  {mTasks.offer(command); if (mDepth.getAndIncrement() == 0) schedule(command);}
+
+  /**
+   * Hands the drain to the pool, taking the command back if the pool refuses.
+   *
+   * @param command the task that made the strand busy
+   */
+  private void schedule(@NonNull Runnable command) {
+    try {mPool.execute(mDrain);}
+    catch (Throwable throwable) {
+      mTasks.remove(command);
+      if (mDepth.decrementAndGet() > 0 && !handOff())
+        try {drain();} catch (Throwable other) {throwable.addSuppressed(other);}
+      throw throwable;
+    }
+  }
+
+  /** @return number of queued and running tasks */
+  public final int depth() {return mDepth.get();}
+
+  /**
+   * Hands the next turn to the pool.
+   * <p>
+   * A pool, that refuses the turn or runs it on the calling thread (as the
+   * caller-runs policy does), leaves the turn to the current thread: that
+   * keeps the strand from getting stuck with queued tasks and nobody to run
+   * them, and a nested drain from recursing without limit.
+   *
+   * @return true if the pool took the turn, false if the current thread has to run it
+   */
+  private boolean handOff() {
+    try {mPool.execute(mDrain);}
+    catch (RuntimeException exception) {return false;}
+    if (DRAINING.get() != BOUNCED) return true;
+    DRAINING.set(this); return false;
+  }
+
+  /** Runs the next turn of tasks, unless the current thread already drains the strand. */
+  private void drain() {
+    final Object outer = DRAINING.get();
+    if (outer == this) {DRAINING.set(BOUNCED); return;}
+    DRAINING.set(this);
+    try {turn();} finally {DRAINING.set(outer);}
+  }
+
+  /** Runs tasks until the strand is idle or the pool takes the next turn. */
+  private void turn() {
+    for (int quantum = QUANTUM; ; quantum--) {
+      final Runnable task = mTasks.poll();
+      try {task.run();}
+      catch (Throwable throwable) {
+        if (mDepth.decrementAndGet() > 0 && !handOff())
+          try {turn();} catch (Throwable other) {throwable.addSuppressed(other);}
+        throw throwable;
+      }
+      if (mDepth.decrementAndGet() == 0) return;
+      if (quantum == 1) {if (handOff()) return; quantum = QUANTUM + 1;}
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override @NonNull public final String toString()
+  {return "Strand{" + "depth=" + mDepth.get() + '}';}
+}
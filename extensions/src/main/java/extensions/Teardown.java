@@ -0,0 +1,257 @@
+/*
+ * Teardown.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.Thread.currentThread;
+
+/**
+ * Dependency-ordered teardown.
+ *
+ * A closeable, registered with dependencies, is closed before them.
+ * Independent closeables are closed in parallel: the closing thread runs
+ * one ready closeable itself and hands the others off to the executor, so a
+ * plain chain never leaves the closing thread. While waiting, the closing
+ * thread takes back the handed-off closeables the executor hasn't started
+ * yet, so nested teardowns on a saturated executor never deadlock.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class Teardown {
+
+  /** Nodes by closeables. */
+  private final Map<Closeable, Node> mNodes = new IdentityHashMap<>();
+
+  /** Timing listener. */
+  private volatile Listener mListener = Listener.NONE;
+
+  /** Constructs a new {@link Teardown}. */
+  public Teardown() {}
+
+  /**
+   * @param closeable closeable for register
+   * @param dependencies closeables that should be closed after this one
+   * @param <T> type of closeable
+   *
+   * @return the closeable
+   */
+  @NonNull public final synchronized <T extends Closeable> T
+  register(@NonNull T closeable, @NonNull Closeable... dependencies) {
+    final Node node = node(closeable);
+    for (final Closeable closeable2 : dependencies) {
+      final Node dependency = node(closeable2);
+      if (dependency == node || dependency.reaches(node))
+        throw new IllegalArgumentException("Cycle: " + closeable + " -> " + closeable2);
+      if (!node.dependencies.contains(dependency))
+      {node.dependencies.add(dependency); dependency.dependents++;}
+    }
+    return closeable;
+  }
+
+  /** @param listener timing listener */
+  public final void listener(@NonNull Listener listener) {mListener = listener;}
+
+  /** @return count of registered closeables */
+  public final synchronized int size() {return mNodes.size();}
+
+  /**
+   * Closes all registered closeables and waits for them.
+   * IOExceptions are reported only, the first unchecked one, thrown by a
+   * closeable or by the listener, is rethrown.
+   *
+   * @param executor executor of parallel closes
+   */
+  public final void close(@NonNull Executor executor) {
+    final List<Node> nodes, ready = new ArrayList<>();
+    synchronized (this) {nodes = new ArrayList<>(mNodes.values()); mNodes.clear();}
+    if (nodes.isEmpty()) return;
+    for (final Node node : nodes)
+      if ((node.pending = new AtomicInteger(node.dependents)).get() == 0) ready.add(node);
+    final CountDownLatch latch = new CountDownLatch(nodes.size());
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final Closing closing = new Closing(executor, mListener, latch, error);
+    closing.run(ready); closing.help();
+    final Throwable exception = error.get();
+    if (exception instanceof RuntimeException) throw (RuntimeException) exception;
+    if (exception instanceof Error) throw (Error) exception;
+  }
+
+  /**
+   * @param closeable closeable
+   * @return node of closeable
+   */
+  @NonNull private Node node(@NonNull Closeable closeable)
+  {return mNodes.computeIfAbsent(closeable, Node::new);}
+
+  /** Timing listener. */
+  @FunctionalInterface
+  public interface Listener {
+
+    /** Nothing to listen. */
+    Listener NONE = (closeable, nanos, error) -> {};
+
+    /**
+     * @param closeable closed closeable
+     * @param nanos duration of close
+     * @param error error of close, if any
+     */
+    void onClosed(@NonNull Closeable closeable, long nanos, @Nullable Throwable error);
+  }
+
+  /** Closeable with dependencies. */
+  private static final class Node {
+
+    /** The closeable. */
+    final Closeable closeable;
+
+    /** Closeables, closed after this one. */
+    final List<Node> dependencies = new ArrayList<>();
+
+    /** Count of closeables, closed before this one. */
+    int dependents = 0;
+
+    /** Dependents not closed yet. */
+    AtomicInteger pending;
+
+    /**
+     * Constructs a new {@link Node}.
+     *
+     * @param closeable the closeable
+     */
+    Node(@NonNull Closeable closeable) {this.closeable = closeable;}
+
+    /**
+     * @param target target node
+     * @return true if the target is a transitive dependency
+     */
+    final boolean reaches(@NonNull Node target) {
+      for (final Node node : dependencies)
+        if (node == target || node.reaches(target)) return true;
+      return false;
+    }
+  }
+
+  /** One pass of close. */
+  private static final class Closing {
+
+    /** Executor of parallel closes. */
+    private final Executor mExecutor;
+
+    /** Timing listener. */
+    private final Listener mListener;
+
+    /** Remaining closeables. */
+    private final CountDownLatch mLatch;
+
+    /** The first unchecked error. */
+    private final AtomicReference<Throwable> mError;
+
+    /** Handed-off nodes, not started yet. */
+    private final Queue<Node> mQueue = new ConcurrentLinkedQueue<>();
+
+    /** Closes one handed-off node, if any left. */
+    private final Runnable mHelper = this::poll;
+
+    /** The closing thread. */
+    private final Thread mOwner = currentThread();
+
+    /**
+     * Constructs a new {@link Closing}.
+     *
+     * @param executor executor of parallel closes
+     * @param listener timing listener
+     * @param latch remaining closeables
+     * @param error the first unchecked error
+     */
+    Closing(@NonNull Executor executor, @NonNull Listener listener,
+        @NonNull CountDownLatch latch, @NonNull AtomicReference<Throwable> error)
+    {mExecutor = executor; mListener = listener; mLatch = latch; mError = error;}
+
+    /** @param ready ready nodes; the first one is closed by the current thread */
+    final void run(@NonNull List<Node> ready) {
+      while (!ready.isEmpty()) {
+        for (int i = 1; i < ready.size(); i++) {
+          mQueue.offer(ready.get(i)); LockSupport.unpark(mOwner);
+          try {mExecutor.execute(mHelper);}
+          catch (RejectedExecutionException exception) {poll();}
+        }
+        ready = next(ready.get(0));
+      }
+    }
+
+    /** Closes one handed-off node, if it wasn't taken by another thread. */
+    private void poll() {final Node node = mQueue.poll(); if (node != null) run(next(node));}
+
+    /** Closes the handed-off nodes on the closing thread, until all nodes are closed. */
+    final void help() {
+      while (mLatch.getCount() > 0) {
+        final Node node = mQueue.poll();
+        if (node != null) {run(next(node)); continue;}
+        LockSupport.park(this);
+        if (Thread.interrupted()) {currentThread().interrupt(); return;}
+      }
+    }
+
+    /**
+     * @param node node for close
+     * @return dependencies became ready
+     */
+    @NonNull private List<Node> next(@NonNull Node node) {
+      final long start = System.nanoTime(); Throwable error = null;
+      try {node.closeable.close();}
+      catch (Throwable throwable) {
+        error = throwable;
+        if (!(throwable instanceof IOException)) mError.compareAndSet(null, throwable);
+      }
+      try {mListener.onClosed(node.closeable, System.nanoTime() - start, error);}
+      catch (Throwable throwable) {mError.compareAndSet(null, throwable);}
+      final List<Node> result = new ArrayList<>(node.dependencies.size());
+      for (final Node dependency : node.dependencies)
+        if (dependency.pending.decrementAndGet() == 0) result.add(dependency);
+      mLatch.countDown(); if (mLatch.getCount() == 0) LockSupport.unpark(mOwner);
+      return result;
+    }
+  }
+}
@@ -28,6 +28,9 @@ package extensions;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
 import static android.os.Process.THREAD_PRIORITY_DEFAULT;
 import static android.os.Process.setThreadPriority;
 
@@ -38,7 +41,8 @@ import static android.os.Process.setThreadPriority;
  * @since 1.0, 01/03/2018
  */
 @SuppressWarnings({ "unused", "WeakerAccess" })
-final class ThreadFactory implements ThreadPool.JavaThreadFactory {
+final class ThreadFactory implements ThreadPool.JavaThreadFactory,
+    ForkJoinPool.ForkJoinWorkerThreadFactory {
 
   /** This instance. */
   private final ThreadFactory mInstance = this;
@@ -94,6 +98,17 @@ final class ThreadFactory implements ThreadPool.JavaThreadFactory {
   (ThreadGroup group, Runnable target, String name, long stack)
   {return newModule(group, name, stack, target);}
 
+  /**
+   * @param pool the pool this thread works in
+   *
+   * @return new created fork-join worker thread
+   */
+  @NonNull @Override public final ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+    final ForkJoinThread result = new ForkJoinThread(pool, mProcessPriority);
+    if (mName != null) result.setName(mName + "-" + result.getPoolIndex());
+    result.setDaemon(false); result.setPriority(mThreadPriority); return result;
+  }
+
   /**
    * @param group  the thread group. If {@code null} and there is a security
    *               manager, the group is determined by {@linkplain
@@ -163,4 +178,30 @@ final class ThreadFactory implements ThreadPool.JavaThreadFactory {
 
   }
 
+  /**
+   * Fork-Join Thread.
+   *
+   * @author Nikitenko Gleb
+   * @since 1.0, 16/10/2026
+   */
+  @SuppressWarnings({ "unused", "WeakerAccess" })
+  public static final class ForkJoinThread extends ForkJoinWorkerThread {
+
+    /** Process priority */
+    private final int mProcess;
+
+    /**
+     * Constructs a new {@link ForkJoinThread}.
+     *
+     * @param pool the pool this thread works in
+     * @param process base process priority
+     */
+    ForkJoinThread(@NonNull ForkJoinPool pool, int process)
+    {super(pool); mProcess = process;}
+
+    /** {@inheritDoc} */
+    @Override protected final void onStart()
+    {super.onStart(); setThreadPriority(mProcess);}
+  }
+
 }
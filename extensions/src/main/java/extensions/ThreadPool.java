@@ -30,11 +30,13 @@ import android.support.annotation.NonNull;
 import java.io.Closeable;
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -67,6 +69,9 @@ final class ThreadPool extends ThreadPoolExecutor implements Closeable {
   /** The callback. */
   private final Callback mCallback;
 
+  /** Time-stamping of plain queued tasks, required by the saturation policy. */
+  private final boolean mStamped;
+
   /** "CLOSE" flag-state. */
   private volatile boolean mClosed;
 
@@ -76,41 +81,86 @@ final class ThreadPool extends ThreadPoolExecutor implements Closeable {
    * @param callback {@link ThreadPool} callback
    * @param core core pool size
    * @param max maximum pool size
+   * @param handler saturation policy
    */
-  private ThreadPool(Callback callback, int core, int max) {
+  private ThreadPool(Callback callback, int core, int max,
+      RejectedExecutionHandler handler) {
     super (core, max, TIME_OUT, TIME_UNIT,
         new LinkedBlockingQueue<>(CAPACITY),
-        new ThreadFactory(callback));
+        new ThreadFactory(callback), handler);
     allowCoreThreadTimeOut(CACHED);
     mCallback = callback;
+    mStamped = handler instanceof Saturation && ((Saturation) handler).stamped();
+  }
+
+  /**
+   * Constructs a new {@link ThreadPool}.
+   *
+   * @param callback {@link ThreadPool} callback
+   * @param core core and maximum pool size
+   * @param queue the queue to use for holding tasks
+   */
+  private ThreadPool(Callback callback, int core, BlockingQueue<Runnable> queue) {
+    super (core, core, TIME_OUT, TIME_UNIT, queue, new ThreadFactory(callback));
+    allowCoreThreadTimeOut(CACHED);
+    mCallback = callback; mStamped = false;
   }
 
   /** {@inheritDoc} */
   private ThreadPool(int core, int maximum, long keep, TimeUnit unit,
       BlockingQueue<Runnable> queue)
-  {super(core, maximum, keep, unit, queue); mCallback = null;}
+  {super(core, maximum, keep, unit, queue); mCallback = null; mStamped = false;}
 
   /** {@inheritDoc} */
   private ThreadPool(int core, int maximum, long keep, TimeUnit unit,
       BlockingQueue<Runnable> queue, java.util.concurrent.ThreadFactory factory)
-  {super(core, maximum, keep, unit, queue, factory); mCallback = null;}
+  {super(core, maximum, keep, unit, queue, factory); mCallback = null; mStamped = false;}
 
   /** {@inheritDoc} */
   private ThreadPool(int core, int maximum, long keep, TimeUnit unit,
       BlockingQueue<Runnable> queue, RejectedExecutionHandler handler,
       Callback callback)
-  {super(core, maximum, keep, unit, queue, handler); mCallback = null;}
+  {super(core, maximum, keep, unit, queue, handler); mCallback = null; mStamped = false;}
 
   /** {@inheritDoc} */
   private ThreadPool(int core, int maximum, long keep, TimeUnit unit,
       BlockingQueue<Runnable> queue, java.util.concurrent.ThreadFactory factory,
       RejectedExecutionHandler handler)
-  {super(core, maximum, keep, unit, queue, factory, handler); mCallback = null;}
+  {super(core, maximum, keep, unit, queue, factory, handler); mCallback = null; mStamped = false;}
 
   /** {@inheritDoc} */
   @Override public final void close()
   {if (mClosed) return; stop(); mClosed = true;}
 
+  /** {@inheritDoc} */
+  @Override public final void execute(Runnable command) {
+    super.execute(mStamped && !(command instanceof Stamped) ?
+        new Queued(Objects.requireNonNull(command)) : command);
+  }
+
+  /** {@inheritDoc} */
+  @Override public final boolean remove(Runnable task) {
+    if (!mStamped) return super.remove(task);
+    for (final Runnable queued : getQueue())
+      if (unwrap(queued) == task) return super.remove(queued);
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override public final List<Runnable> shutdownNow() {
+    final List<Runnable> result = super.shutdownNow();
+    if (mStamped) result.replaceAll(ThreadPool::unwrap); return result;
+  }
+
+  /**
+   * @param runnable a task, taken from the queue
+   * @return the task, submitted by the caller
+   */
+  @NonNull static Runnable unwrap(@NonNull Runnable runnable) {
+    while (runnable instanceof Queued) runnable = ((Queued) runnable).task;
+    return runnable;
+  }
+
   /** {@inheritDoc} */
   @Override protected final void finalize()
   {try {close();} finally {super.finalize();}}
@@ -147,6 +197,71 @@ final class ThreadPool extends ThreadPoolExecutor implements Closeable {
     return null;
   }
 
+  /** Task, stamped with the enqueue time. */
+  interface Stamped {
+
+    /** @return enqueue time, nanos */
+    long time();
+  }
+
+  /**
+   * Time-stamped future of {@code submit}.
+   * <p>
+   * Takes the place of the plain {@link FutureTask}, that the pool creates
+   * anyway, so the stamp costs no extra allocation.
+   *
+   * @param <V> type of result
+   */
+  static final class Task<V> extends FutureTask<V> implements Stamped {
+
+    /** Creation time, nanos. */
+    private final long mTime = System.nanoTime();
+
+    /**
+     * Constructs a new {@link Task}.
+     *
+     * @param callable the callable task
+     */
+    Task(@NonNull Callable<V> callable) {super(callable);}
+
+    /**
+     * Constructs a new {@link Task}.
+     *
+     * @param runnable the runnable task
+     * @param value the result to return
+     */
+    Task(@NonNull Runnable runnable, V value) {super(runnable, value);}
+
+    /** {@inheritDoc} */
+    @Override public final long time() {return mTime;}
+  }
+
+  /**
+   * Time-stamped plain task. Wraps the tasks of {@code execute}, that are not
+   * stamped yet, on pools with a policy that needs the stamps.
+   */
+  static final class Queued implements Runnable, Stamped {
+
+    /** The task. */
+    final Runnable task;
+
+    /** Enqueue time, nanos. */
+    final long time = System.nanoTime();
+
+    /**
+     * Constructs a new {@link Queued}.
+     *
+     * @param task the task
+     */
+    Queued(@NonNull Runnable task) {this.task = task;}
+
+    /** {@inheritDoc} */
+    @Override public final void run() {task.run();}
+
+    /** {@inheritDoc} */
+    @Override public final long time() {return time;}
+  }
+
   /**
    * System Thread Factory.
    *
@@ -304,18 +419,20 @@ final class ThreadPool extends ThreadPoolExecutor implements Closeable {
 
   /**
    * @param callback the {@link ThreadPool} callback
+   * @param handler saturation policy
    * @return ThreadPool builder
    */
   @SuppressWarnings("WeakerAccess")
-  static ThreadPool newSerial(Callback callback)
-  {final int core = 1, max = 1; return new ThreadPool(callback, core, max);}
+  static ThreadPool newSerial(Callback callback, RejectedExecutionHandler handler)
+  {final int core = 1, max = 1; return new ThreadPool(callback, core, max, handler);}
 
   /**
    * @param callback the {@link ThreadPool} callback
+   * @param handler saturation policy
    * @return ThreadPool builder
    */
   @SuppressWarnings("WeakerAccess")
-  static ThreadPool newParallel(Callback callback) {
+  static ThreadPool newParallel(Callback callback, RejectedExecutionHandler handler) {
     /*
      * We want at least 2 threads and at most 4 threads in the core pool,
      * preferring to have 1 less than the CPU count to avoid saturating the CPU
@@ -324,7 +441,22 @@ final class ThreadPool extends ThreadPoolExecutor implements Closeable {
     final int availableProcessors = Runtime.getRuntime().availableProcessors(),
         core = Math.max(2, Math.min(availableProcessors - 1, 4)),
         max = availableProcessors * 2 + 1;
-    return new ThreadPool(callback, core, max);
+    return new ThreadPool(callback, core, max, handler);
+  }
+
+  /**
+   * @param callback the {@link ThreadPool} callback
+   * @return ThreadPool builder
+   */
+  @SuppressWarnings("WeakerAccess")
+  static ThreadPool newPriority(Callback callback) {
+    /*
+     * The queue is unbounded, so only core threads are ever started.
+     * Same sizing as the parallel pool.
+     */
+    final int availableProcessors = Runtime.getRuntime().availableProcessors(),
+        core = Math.max(2, Math.min(availableProcessors - 1, 4));
+    return new ThreadPool(callback, core, new PriorityBlockingQueue<>(CAPACITY));
   }
 
   /**
@@ -333,7 +465,7 @@ final class ThreadPool extends ThreadPoolExecutor implements Closeable {
    */
   @SuppressWarnings("WeakerAccess")
   public static ThreadPool newSerial(@NonNull JavaThreadFactory factory)
-  {return newSerial(new DefaultCallback(factory));}
+  {return newSerial(factory, new AbortPolicy());}
 
   /**
    * @param factory the java thread factory
@@ -341,7 +473,49 @@ final class ThreadPool extends ThreadPoolExecutor implements Closeable {
    */
   @SuppressWarnings("WeakerAccess")
   public static ThreadPool newParallel(@NonNull JavaThreadFactory factory)
-  {return newParallel(new DefaultCallback(factory));}
+  {return newParallel(factory, new AbortPolicy());}
+
+  /**
+   * @param factory the java thread factory
+   * @param handler saturation policy
+   * @return Thread Pool instance
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static ThreadPool newSerial
+  (@NonNull JavaThreadFactory factory, @NonNull RejectedExecutionHandler handler)
+  {return newSerial(new DefaultCallback(factory), handler);}
+
+  /**
+   * @param factory the java thread factory
+   * @param handler saturation policy
+   * @return Thread Pool instance
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static ThreadPool newParallel
+  (@NonNull JavaThreadFactory factory, @NonNull RejectedExecutionHandler handler)
+  {return newParallel(new DefaultCallback(factory), handler);}
+
+  /**
+   * @param factory the java thread factory
+   * @param handler saturation policy
+   * @param metrics execution metrics
+   * @return Thread Pool instance
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static ThreadPool newSerial(@NonNull JavaThreadFactory factory,
+      @NonNull RejectedExecutionHandler handler, @NonNull Metrics metrics)
+  {return newSerial(new MeteredCallback(factory, metrics), handler);}
+
+  /**
+   * @param factory the java thread factory
+   * @param handler saturation policy
+   * @param metrics execution metrics
+   * @return Thread Pool instance
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static ThreadPool newParallel(@NonNull JavaThreadFactory factory,
+      @NonNull RejectedExecutionHandler handler, @NonNull Metrics metrics)
+  {return newParallel(new MeteredCallback(factory, metrics), handler);}
 
 
   /** The executor callback. */
@@ -512,6 +686,57 @@ final class ThreadPool extends ThreadPoolExecutor implements Closeable {
     {return mFactory.newThread(group, target, name, stackSize);}
   }
 
+  /**
+   * @param factory the java thread factory
+   * @return Thread Pool instance, ordering {@link Comparable} tasks
+   */
+  @SuppressWarnings("WeakerAccess")
+  public static ThreadPool newPriority(@NonNull JavaThreadFactory factory)
+  {return newPriority(new DefaultCallback(factory));}
+
+  /** Instrumented callback. */
+  private static final class MeteredCallback implements Callback {
+
+    /** Thread factory. */
+    private final JavaThreadFactory mFactory;
+
+    /** Execution metrics. */
+    private final Metrics mMetrics;
+
+    /**
+     * Constructs a new {@link MeteredCallback}.
+     *
+     * @param factory thread factory
+     * @param metrics execution metrics
+     */
+    MeteredCallback(@NonNull JavaThreadFactory factory, @NonNull Metrics metrics)
+    {mFactory = factory; mMetrics = metrics;}
+
+    /** {@inheritDoc} */
+    @Override public final <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value)
+    {return new Task<>(runnable, value);}
+
+    /** {@inheritDoc} */
+    @Override public final <T> RunnableFuture<T> newTaskFor(Callable<T> callable)
+    {return new Task<>(callable);}
+
+    /** {@inheritDoc} */
+    @Override public final void beforeExecute(Thread thread, Runnable runnable)
+    {mMetrics.beforeExecute(runnable);}
+
+    /** {@inheritDoc} */
+    @Override public final void afterExecute(Runnable runnable, Throwable throwable)
+    {mMetrics.afterExecute(runnable, throwable);}
+
+    /** {@inheritDoc} */
+    @Override public final void terminated() {}
+
+    /** {@inheritDoc} */
+    @Override public final Thread newThread
+    (ThreadGroup group, Runnable target, String name, long stackSize)
+    {return mFactory.newThread(group, target, name, stackSize);}
+  }
+
   /**
    * For pool thread factory.
    *
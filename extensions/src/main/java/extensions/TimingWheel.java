@@ -0,0 +1,294 @@
+/*
+ * TimingWheel.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.NonNull;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel.
+ *
+ * Schedule and cancel are O(1): new and cancelled timers are passed to the
+ * wheel thread through lock-free queues, and the thread links or unlinks
+ * them in the bucket lists once per tick. Expired timers are fired onto
+ * their own executors, so the wheel thread only runs short hand-offs.
+ *
+ * The precision is one tick. Depends on nothing but the JVM.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings({ "unused", "WeakerAccess" })
+public final class TimingWheel implements Closeable {
+
+  /** Max count of timers, transferred per tick. */
+  private static final int TRANSFER = 100_000;
+
+  /** States of the wheel. */
+  private static final int INIT = 0, STARTED = 1, CLOSED = 2;
+
+  /** Direct executor. */
+  private static final Executor DIRECT = Runnable::run;
+
+  /** Buckets of the wheel. */
+  private final Bucket[] mWheel;
+
+  /** Mask of wheel index. */
+  private final int mMask;
+
+  /** Tick duration, nanos. */
+  private final long mTick;
+
+  /** New timers. */
+  private final Queue<Timeout> mAdded = new ConcurrentLinkedQueue<>();
+
+  /** Cancelled timers. */
+  private final Queue<Timeout> mCancelled = new ConcurrentLinkedQueue<>();
+
+  /** State of the wheel. */
+  private final AtomicInteger mState = new AtomicInteger(INIT);
+
+  /** The wheel thread. */
+  private final Thread mThread;
+
+  /** Start time, nanos. */
+  private volatile long mStart;
+
+  /** Current tick, confined to the wheel thread. */
+  private long mTicks = 0L;
+
+  /**
+   * Constructs a new {@link TimingWheel}.
+   *
+   * @param factory factory of the wheel thread
+   * @param tick tick duration
+   * @param unit time unit of tick
+   * @param size count of buckets, rounded up to a power of two
+   */
+  public TimingWheel(@NonNull ThreadFactory factory,
+      long tick, @NonNull TimeUnit unit, int size) {
+    if (tick <= 0 || size <= 0 || size > 1 << 30)
+      throw new IllegalArgumentException(tick + ", " + size);
+    final int length = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    mWheel = new Bucket[length]; mMask = length - 1;
+    for (int i = 0; i < length; i++) mWheel[i] = new Bucket();
+    mTick = Math.max(unit.toNanos(tick), TimeUnit.MILLISECONDS.toNanos(1));
+    mThread = factory.newThread(this::loop);
+  }
+
+  /**
+   * Schedules the task on the wheel thread.
+   * The task should be short and never block.
+   *
+   * @param task task for run
+   * @param delay delay of run
+   * @param unit time unit of delay
+   *
+   * @return handle of timer
+   */
+  @AnyThread @NonNull public final Timeout schedule
+  (@NonNull Runnable task, long delay, @NonNull TimeUnit unit)
+  {return schedule(task, delay, unit, DIRECT);}
+
+  /**
+   * @param task task for run
+   * @param delay delay of run
+   * @param unit time unit of delay
+   * @param executor target executor
+   *
+   * @return handle of timer
+   */
+  @AnyThread @NonNull public final Timeout schedule(@NonNull Runnable task,
+      long delay, @NonNull TimeUnit unit, @NonNull Executor executor) {
+    start();
+    final Timeout result = new Timeout(this, task, executor,
+        System.nanoTime() - mStart + Math.max(0L, unit.toNanos(delay)));
+    mAdded.offer(result); return result;
+  }
+
+  /** @return count of timers, not yet linked into the wheel */
+  public final int pending() {return mAdded.size();}
+
+  /** {@inheritDoc} */
+  @Override public final void close() {
+    if (mState.getAndSet(CLOSED) != STARTED) return;
+    mThread.interrupt();
+    try {mThread.join(TimeUnit.SECONDS.toMillis(1));}
+    catch (InterruptedException exception) {Thread.currentThread().interrupt();}
+  }
+
+  /** Starts the wheel thread lazily. */
+  private void start() {
+    final int state = mState.get();
+    if (state == STARTED) return;
+    if (state == CLOSED) throw new RejectedExecutionException("Closed");
+    synchronized (mThread) {
+      if (mState.get() != INIT) return;
+      mStart = System.nanoTime(); mState.set(STARTED); mThread.start();
+    }
+  }
+
+  /** Loop of the wheel thread. */
+  private void loop() {
+    while (mState.get() == STARTED) {
+      final long deadline = mTick * (mTicks + 1);
+      for (long left; (left = deadline - (System.nanoTime() - mStart)) > 0; ) {
+        LockSupport.parkNanos(this, left);
+        if (mState.get() != STARTED) return;
+      }
+      unlink(); transfer();
+      mWheel[(int) (mTicks & mMask)].expire(deadline);
+      mTicks++;
+    }
+  }
+
+  /** Links new timers into the buckets. */
+  private void transfer() {
+    for (int i = 0; i < TRANSFER; i++) {
+      final Timeout timeout = mAdded.poll();
+      if (timeout == null) return;
+      if (timeout.mState.get() != Timeout.WAITING) continue;
+      final long ticks = Math.max(timeout.mDeadline / mTick, mTicks);
+      timeout.mRounds = (ticks - mTicks) / mWheel.length;
+      mWheel[(int) (ticks & mMask)].add(timeout);
+    }
+  }
+
+  /** Unlinks cancelled timers from the buckets. */
+  private void unlink() {
+    for (Timeout timeout; (timeout = mCancelled.poll()) != null; )
+      if (timeout.mBucket != null) timeout.mBucket.remove(timeout);
+  }
+
+  /** Doubly-linked list of timers, confined to the wheel thread. */
+  private static final class Bucket {
+
+    /** Ends of list. */
+    private Timeout mHead, mTail;
+
+    /** @param timeout timer for add */
+    final void add(@NonNull Timeout timeout) {
+      timeout.mBucket = this;
+      if (mHead == null) mHead = mTail = timeout;
+      else {mTail.mNext = timeout; timeout.mPrev = mTail; mTail = timeout;}
+    }
+
+    /** @param timeout timer for remove */
+    final void remove(@NonNull Timeout timeout) {
+      final Timeout next = timeout.mNext;
+      if (timeout.mPrev != null) timeout.mPrev.mNext = next;
+      if (next != null) next.mPrev = timeout.mPrev;
+      if (timeout == mHead) mHead = next;
+      if (timeout == mTail) mTail = timeout.mPrev;
+      timeout.mPrev = timeout.mNext = null; timeout.mBucket = null;
+    }
+
+    /** @param deadline deadline of current tick, relative nanos */
+    final void expire(long deadline) {
+      for (Timeout timeout = mHead; timeout != null; ) {
+        final Timeout next = timeout.mNext;
+        if (timeout.mRounds > 0) timeout.mRounds--;
+        else if (timeout.mDeadline <= deadline) {remove(timeout); timeout.fire();}
+        timeout = next;
+      }
+    }
+  }
+
+  /** Handle of one timer. */
+  public static final class Timeout {
+
+    /** States of timer. */
+    private static final int WAITING = 0, CANCELLED = 1, EXPIRED = 2;
+
+    /** State of timer. */
+    private final AtomicInteger mState = new AtomicInteger(WAITING);
+
+    /** Owner wheel. */
+    private final TimingWheel mWheel;
+
+    /** Task for run. */
+    private final Runnable mTask;
+
+    /** Target executor. */
+    private final Executor mExecutor;
+
+    /** Deadline, relative to the wheel start, nanos. */
+    private final long mDeadline;
+
+    /** Remaining rounds of the wheel. */
+    private long mRounds;
+
+    /** Links of the bucket list. */
+    private Timeout mPrev, mNext;
+
+    /** Current bucket. */
+    private Bucket mBucket;
+
+    /**
+     * Constructs a new {@link Timeout}.
+     *
+     * @param wheel owner wheel
+     * @param task task for run
+     * @param executor target executor
+     * @param deadline deadline, relative nanos
+     */
+    Timeout(@NonNull TimingWheel wheel, @NonNull Runnable task,
+        @NonNull Executor executor, long deadline)
+    {mWheel = wheel; mTask = task; mExecutor = executor; mDeadline = deadline;}
+
+    /** @return true if the timer was cancelled before expiration */
+    @AnyThread public final boolean cancel() {
+      if (!mState.compareAndSet(WAITING, CANCELLED)) return false;
+      mWheel.mCancelled.offer(this); return true;
+    }
+
+    /** @return true if cancelled */
+    public final boolean isCancelled() {return mState.get() == CANCELLED;}
+
+    /** @return true if expired */
+    public final boolean isExpired() {return mState.get() == EXPIRED;}
+
+    /** Fires the task. */
+    final void fire() {
+      if (!mState.compareAndSet(WAITING, EXPIRED)) return;
+      try {mExecutor.execute(mTask);}
+      catch (Throwable throwable) {
+        final Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * BitSelectionTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link BitSelection} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class BitSelectionTest {
+
+  /** Constructs a new {@link BitSelectionTest} */
+  public BitSelectionTest() {}
+
+  @Test public final void testSelectUnSelect() {
+    final BitSelection<Integer> selection = BitSelection.create(items(100));
+    assertTrue(selection.select(70)); assertFalse(selection.select(70));
+    assertTrue(selection.isSelected(70)); assertEquals(1, selection.count());
+    assertTrue(selection.unSelect(70)); assertEquals(0, selection.count());
+    assertTrue(selection.toggle(3)); assertFalse(selection.toggle(3));
+  }
+
+  @Test public final void testRange() {
+    final BitSelection<Integer> selection = BitSelection.create(items(300));
+    selection.select(10, 200); assertEquals(190, selection.count());
+    selection.unSelect(60, 130); assertEquals(120, selection.count());
+    assertTrue(selection.isSelected(59)); assertFalse(selection.isSelected(60));
+    assertTrue(selection.isSelected(130)); assertFalse(selection.isSelected(200));
+    selection.select(0, 300); assertEquals(300, selection.count());
+  }
+
+  @Test public final void testSnapshotIsImmutable() {
+    final BitSelection<Integer> selection = BitSelection.create(items(10));
+    selection.select(1);
+    final BitSelection.Snapshot<Integer> snapshot = selection.snapshot();
+    selection.select(2); selection.selectId(42); selection.reset();
+    assertTrue(snapshot.isSelected(1)); assertFalse(snapshot.isSelected(2));
+    assertEquals(1, snapshot.count()); assertFalse(snapshot.isSelectedId(42));
+  }
+
+  @Test public final void testOrphans() {
+    final BitSelection<Integer> selection =
+        BitSelection.create(items(5), Arrays.asList(2, 42));
+    assertTrue(selection.isSelected(selection.indexOf(2)));
+    final BitSelection<Integer> next = selection.transform(items(50));
+    assertTrue(next.isSelected(next.indexOf(42)));
+    assertEquals(new HashSet<>(Arrays.asList(2, 42)), next.snapshot().ids());
+  }
+
+  @Test public final void testToSelection() {
+    final Set<Integer> content = new HashSet<>(items(1000));
+    final Set<Integer> ids = new HashSet<>(Arrays.asList(5, 500, 5000));
+    final BitSelection<Integer> selection = BitSelection.create(content, ids);
+    assertEquals(Selection.toSelection(content, ids),
+        selection.snapshot().toSelection());
+    assertEquals(Collections.singleton(5000),
+        selection.snapshot().toSelection().orphanIds);
+  }
+
+  /**
+   * @param count count of items
+   * @return items
+   */
+  private static List<Integer> items(int count)
+  {return IntStream.range(0, count).boxed().collect(Collectors.toList());}
+}
@@ -0,0 +1,96 @@
+/*
+ * CoalescerTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Coalescer} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class CoalescerTest {
+
+  /** Constructs a new {@link CoalescerTest} */
+  public CoalescerTest() {}
+
+  @Test public final void testPendingIsReplaced() throws Exception {
+    final List<Runnable> queue = new ArrayList<>();
+    final Coalescer<String> coalescer = Coalescer.create(queue::add);
+    final CompletableFuture<Integer> first = coalescer.submit("a", () -> 1);
+    final CompletableFuture<Integer> second = coalescer.submit("a", () -> 2);
+    final CompletableFuture<Integer> other = coalescer.submit("b", () -> 3);
+    assertSame(first, second); assertEquals(2, queue.size());
+    for (final Runnable task : new ArrayList<>(queue)) task.run();
+    assertEquals(2, (int) first.get()); assertEquals(3, (int) other.get());
+    assertEquals(1, coalescer.coalesced()); assertEquals(0, coalescer.size());
+  }
+
+  @Test public final void testOneRunningPerKey() throws Exception {
+    final ExecutorService pool = ThreadPool.newParallel(Thread::new, Saturation.callerRuns());
+    try {
+      final Coalescer<String> coalescer = Coalescer.create(pool);
+      final AtomicInteger running = new AtomicInteger(), peak = new AtomicInteger();
+      final CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+      final CompletableFuture<Void> first = coalescer.execute("a", () -> {
+        started.countDown();
+        try {release.await();} catch (InterruptedException ignored) {}
+      });
+      assertTrue(started.await(1, TimeUnit.SECONDS));
+      CompletableFuture<Void> last = null;
+      for (int i = 0; i < 100; i++)
+        last = coalescer.execute("a", () -> {
+          peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+          running.decrementAndGet();
+        });
+      release.countDown(); first.get(1, TimeUnit.SECONDS);
+      last.get(1, TimeUnit.SECONDS);
+      assertEquals(1, peak.get()); assertEquals(99, coalescer.coalesced());
+    } finally {pool.shutdown();}
+  }
+
+  @Test public final void testFailure() {
+    final Executor direct = Runnable::run;
+    final CompletableFuture<Object> future = Coalescer.<String>create(direct)
+        .submit("a", () -> {throw new IllegalStateException();});
+    assertTrue(future.isCompletedExceptionally());
+  }
+}
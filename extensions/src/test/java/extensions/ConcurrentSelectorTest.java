@@ -0,0 +1,146 @@
+/*
+ * ConcurrentSelectorTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.arch.core.executor.ArchTaskExecutor;
+import android.arch.core.executor.TaskExecutor;
+import android.support.annotation.NonNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ConcurrentSelector} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class ConcurrentSelectorTest {
+
+  /** Count of items. */
+  private static final int ITEMS = 64;
+
+  /** Emulated main thread. */
+  private ThreadPool mMain = null;
+
+  /** Strands pool. */
+  private ThreadPool mPool = null;
+
+  /** Constructs a new {@link ConcurrentSelectorTest} */
+  public ConcurrentSelectorTest() {}
+
+  /** {@inheritDoc} */
+  @BeforeEach public final void setUp() {
+    mMain = ThreadPool.newSerial((group, target, name, stack) ->
+        Executors.MAIN_THREAD = new Thread(group, target, name, stack), Saturation.abort());
+    mMain.prestartAllCoreThreads(); Executors.MAIN = mMain;
+    ArchTaskExecutor.getInstance().setDelegate(new TaskExecutor() {
+      @Override public final void executeOnDiskIO(Runnable runnable) {runnable.run();}
+      @Override public final void postToMainThread(Runnable runnable) {mMain.execute(runnable);}
+      @Override public final boolean isMainThread() {return Executors.isMainThread();}
+    });
+    mPool = ThreadPool.newParallel(Thread::new, Saturation.abort());
+  }
+
+  /** {@inheritDoc} */
+  @AfterEach public final void tearDown() {
+    mPool.close(); ArchTaskExecutor.getInstance().setDelegate(null);
+    Executors.MAIN = null; mMain.close(); Executors.MAIN_THREAD = null;
+  }
+
+  @Test public final void testConcurrentToggles() throws InterruptedException {
+    final ConcurrentSelector<Integer> selector = ConcurrentSelector.create(items(ITEMS),
+        ConcurrentSelector.UNLIMITED, mPool);
+    final Thread[] threads = new Thread[3];
+    for (int i = 0; i < threads.length; i++)
+      (threads[i] = new Thread(() -> {for (int id = 0; id < ITEMS; id++) selector.toggle(id);}))
+          .start();
+    for (final Thread thread : threads) thread.join();
+    await(() -> selected(selector).size() == ITEMS);
+  }
+
+  @Test public final void testLimit() throws InterruptedException {
+    final ConcurrentSelector<Integer> multiple = ConcurrentSelector.create(items(ITEMS), 2, mPool);
+    multiple.select(1); multiple.select(2); multiple.select(3); multiple.toggle(4);
+    multiple.unSelect(2); multiple.select(5);
+    await(() -> selected(multiple).equals(new HashSet<>(Arrays.asList(1, 5))));
+    final ConcurrentSelector<Integer> single = ConcurrentSelector.create(items(ITEMS), 1, mPool);
+    single.select(1); single.select(2);
+    await(() -> selected(single).equals(new HashSet<>(Arrays.asList(2))));
+  }
+
+  @Test public final void testContentReplacement() throws InterruptedException {
+    final ConcurrentSelector<Integer> selector = ConcurrentSelector.create(items(ITEMS), 2, mPool);
+    selector.select(1); selector.select(2);
+    selector.content(Arrays.asList(0, 1, 3)); selector.select(3);
+    await(() -> selector.get().get().orphanIds.equals(new HashSet<>(Arrays.asList(2))));
+    assertEquals(new HashSet<>(Arrays.asList(1)), selected(selector));
+    selector.content(items(ITEMS));
+    await(() -> selected(selector).equals(new HashSet<>(Arrays.asList(1, 2))));
+    assertTrue(selector.get().get().orphanIds.isEmpty());
+  }
+
+  /**
+   * @param count count of items
+   * @return items, identified by their values
+   */
+  @NonNull private static List<Integer> items(int count) {
+    final List<Integer> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) result.add(i); return result;
+  }
+
+  /**
+   * @param selector the selector
+   * @return published selected items
+   */
+  @NonNull private static Set<Integer> selected(@NonNull ConcurrentSelector<Integer> selector) {
+    final Set<Integer> result = new HashSet<>();
+    for (final Selectable<Integer> item : selector.get().get().items)
+      if (item.selected) result.add(item.content);
+    return result;
+  }
+
+  /** @param condition condition to wait for */
+  private static void await(@NonNull BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "timeout"); Thread.sleep(1L);
+    }
+  }
+}
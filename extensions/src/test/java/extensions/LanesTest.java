@@ -0,0 +1,100 @@
+/*
+ * LanesTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Lanes} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class LanesTest {
+
+  /** Number of background tasks. */
+  private static final int TASKS = 16;
+
+  /** Lanes under test. */
+  private Lanes mLanes = null;
+
+  /** Releases the single worker. */
+  private final CountDownLatch mStart = new CountDownLatch(1);
+
+  /** Constructs a new {@link LanesTest} */
+  public LanesTest() {}
+
+  /** {@inheritDoc} */
+  @BeforeEach public final void setUp() throws InterruptedException {
+    final ThreadPool pool = ThreadPool.newPriority(Thread::new);
+    pool.setCorePoolSize(1); mLanes = new Lanes(pool, 1, SECONDS);
+    final CountDownLatch started = new CountDownLatch(1);
+    mLanes.execute(Lanes.Lane.CRITICAL, () -> {
+      started.countDown();
+      try {mStart.await();} catch (InterruptedException ignored) {}
+    });
+    assertTrue(started.await(10, SECONDS));
+  }
+
+  /** {@inheritDoc} */
+  @AfterEach public final void tearDown() {mStart.countDown(); mLanes.close();}
+
+  @Test public final void testLaneSurvivesCompletableFuture() {
+    final List<Lanes.Lane> order = Collections.synchronizedList(new ArrayList<>());
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < TASKS; i++) futures.add(CompletableFuture.runAsync
+        (() -> order.add(Lanes.Lane.PREFETCH), mLanes.lane(Lanes.Lane.PREFETCH)));
+    futures.add(CompletableFuture.runAsync
+        (() -> order.add(Lanes.Lane.CRITICAL), mLanes.lane(Lanes.Lane.CRITICAL)));
+    mStart.countDown();
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    assertEquals(TASKS + 1, order.size());
+    assertEquals(Lanes.Lane.CRITICAL, order.get(0));
+  }
+
+  @Test public final void testFifoWithinLane() {
+    final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < TASKS; i++) {final int index = i; futures.add(CompletableFuture
+        .runAsync(() -> order.add(index), mLanes.lane(Lanes.Lane.NORMAL)));}
+    mStart.countDown();
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    for (int i = 0; i < TASKS; i++) assertEquals(i, (int) order.get(i));
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * LiveTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.arch.core.executor.ArchTaskExecutor;
+import android.arch.core.executor.TaskExecutor;
+
+import android.support.annotation.NonNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Live} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class LiveTest {
+
+  /** Emulated main thread. */
+  private ThreadPool mMain = null;
+
+  /** Constructs a new {@link LiveTest} */
+  public LiveTest() {}
+
+  /** {@inheritDoc} */
+  @BeforeEach public final void setUp() {
+    mMain = ThreadPool.newSerial((group, target, name, stack) ->
+        Executors.MAIN_THREAD = new Thread(group, target, name, stack), Saturation.abort());
+    mMain.prestartAllCoreThreads(); Executors.MAIN = mMain;
+    ArchTaskExecutor.getInstance().setDelegate(new TaskExecutor() {
+      @Override public final void executeOnDiskIO(Runnable runnable) {runnable.run();}
+      @Override public final void postToMainThread(Runnable runnable) {mMain.execute(runnable);}
+      @Override public final boolean isMainThread() {return Executors.isMainThread();}
+    });
+  }
+
+  /** {@inheritDoc} */
+  @AfterEach public final void tearDown() {
+    Live.framed(false); ArchTaskExecutor.getInstance().setDelegate(null);
+    Executors.MAIN = null; mMain.close(); Executors.MAIN_THREAD = null;
+  }
+
+  /** Waits for the main thread to run all posted tasks. */
+  private static void sync() {Executors.runAndWait(() -> {});}
+
+  @Test public final void testVersionDetectsInPlaceMutation() {
+    final Counter counter = new Counter(); final AtomicInteger dispatches = new AtomicInteger();
+    final Live.Mutable<Counter> live = Live.create(counter, Live.Equality.version());
+    final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+    live.observe(value -> dispatches.incrementAndGet());
+    live.map(value -> value.value).observe(values::add);
+    counter.value = 1; counter.version++; live.set(counter);
+    live.set(counter); sync();
+    assertEquals(2, dispatches.get()); assertEquals(Arrays.asList(0, 1), values);
+  }
+
+  @Test public final void testSwitchWithinBatch() {
+    final Live.Mutable<Integer> source = Live.create(0);
+    final Live.Mutable<String> near = Live.create("a"), base = Live.create("b");
+    final Live<String> far = base.map(value -> value).map(value -> value);
+    final Live<String> result = source.trigger(value -> value == 0 ? near : far);
+    final List<String> values = Collections.synchronizedList(new ArrayList<>());
+    result.observe(values::add);
+    Live.transaction().set(source, 1).set(near, "c").set(base, "d").commit(); sync();
+    assertEquals("d", result.get()); assertEquals("d", values.get(values.size() - 1));
+    near.set("e"); sync(); assertEquals("d", result.get());
+  }
+
+  @Test public final void testMapAsyncKeepsResultOnFailure() throws InterruptedException {
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, Saturation.abort());
+    final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    try {
+      final Live.Mutable<Integer> source = Live.create(1);
+      final Live<Integer> result = source.mapAsync(pool, -1, value -> {
+        if (value == 2) throw new IllegalStateException(); return value * 10;
+      }, Live.Equality.deep(), failures::add);
+      await(() -> result.get() == 10); result.observe(value -> {});
+      source.set(2); await(() -> !failures.isEmpty());
+      assertTrue(failures.get(0) instanceof IllegalStateException);
+      assertEquals(10, (int) result.get());
+      source.set(3); await(() -> result.get() == 30);
+    } finally {pool.close();}
+  }
+
+  @Test public final void testMapAsyncDropsStaleResults() throws InterruptedException {
+    final ThreadPool pool = ThreadPool.newParallel(Thread::new, Saturation.abort());
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+    try {
+      final Live.Mutable<Integer> source = Live.create(1);
+      final Live<Integer> result = source.mapAsync(pool, -1, value -> {
+        if (value == 2) try {release.await();} catch (InterruptedException ignored) {}
+        return value * 10;
+      });
+      await(() -> result.get() == 10); result.observe(values::add);
+      source.set(2); source.set(3); await(() -> result.get() == 30);
+      release.countDown(); pool.shutdown(); assertTrue(pool.awaitTermination(10, SECONDS));
+      sync(); assertEquals(Arrays.asList(10, 30), values);
+    } finally {release.countDown(); pool.close();}
+  }
+
+  @Test public final void testMapAsyncDoesNotBlockTheExecutor() throws Exception {
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, Saturation.abort());
+    final CountDownLatch busy = new CountDownLatch(1);
+    try {
+      final Live.Mutable<Integer> source = Live.create(1);
+      final Live<Integer> result = source.mapAsync(pool, -1, value -> value * 10);
+      await(() -> result.get() == 10); result.observe(value -> {});
+      blockMain(busy);
+      new Thread(() -> source.set(2)).start();
+      assertTrue(pool.submit(() -> true).get(10, SECONDS));
+      busy.countDown(); await(() -> result.get() == 20);
+    } finally {busy.countDown(); pool.close();}
+  }
+
+  @Test public final void testCommitOrder() {
+    final Live.Mutable<Integer> first = Live.create(0), second = Live.create(0);
+    final Live<Integer> sum = Live.combine(first, second, Integer::sum);
+    final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+    sum.observe(values::add);
+    first.set(1); Live.transaction().set(first, 2).set(second, 3).set(first, 4).commit();
+    second.set(5); sync();
+    assertEquals(Arrays.asList(0, 1, 7, 9), values);
+  }
+
+  @Test public final void testSetRacingCommit() throws InterruptedException {
+    final Live.Mutable<Integer> live = Live.create(0); final CountDownLatch busy = new CountDownLatch(1);
+    final Thread commit = new Thread(() -> Live.transaction().set(live, 1).commit());
+    final Thread set = new Thread(() -> live.set(2));
+    blockMain(busy);
+    commit.start(); await(() -> mMain.getQueue().size() == 1);
+    set.start(); await(() -> mMain.getQueue().size() == 2);
+    busy.countDown(); commit.join(); set.join(); sync();
+    assertEquals(2, (int) live.get());
+  }
+
+  @Test public final void testSetRacingFramedCommit() throws InterruptedException {
+    Live.framed(true);
+    final Live.Mutable<Integer> live = Live.create(0); final CountDownLatch busy = new CountDownLatch(1);
+    final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+    live.observe(values::add); blockMain(busy);
+    final Thread worker = new Thread(() -> {Live.transaction().set(live, 1).commit(); live.set(2);});
+    worker.start(); worker.join(); busy.countDown(); sync();
+    assertEquals(2, (int) live.get()); assertEquals(Arrays.asList(0, 1, 2), values);
+  }
+
+  /** @param busy keeps the main thread busy until released */
+  private void blockMain(@NonNull CountDownLatch busy) throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    mMain.execute(() -> {started.countDown();
+      try {busy.await();} catch (InterruptedException ignored) {}});
+    assertTrue(started.await(10, SECONDS));
+  }
+
+  /** @param condition condition to wait for */
+  private static void await(@NonNull BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "timeout"); Thread.sleep(1L);
+    }
+  }
+
+  /** Mutable version-stamped value. */
+  private static final class Counter implements Live.Versioned {
+
+    /** Modification stamp. */
+    long version;
+
+    /** Payload. */
+    int value;
+
+    /** {@inheritDoc} */
+    @Override public final long version() {return version;}
+  }
+}
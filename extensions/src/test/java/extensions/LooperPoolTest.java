@@ -0,0 +1,144 @@
+/*
+ * LooperPoolTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link LooperPool} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class LooperPoolTest {
+
+  /** Created workers. */
+  private final List<Fake> mCreated = new ArrayList<>();
+
+  /** Pool under test. */
+  private final LooperPool mPool =
+      new LooperPool((pool, name) -> {final Fake result = new Fake(pool, name);
+        mCreated.add(result); return result;});
+
+  /** Constructs a new {@link LooperPoolTest} */
+  public LooperPoolTest() {}
+
+  @Test public final void testLeaseAndReuse() {
+    final Fake first = (Fake) mPool.lease("first");
+    assertEquals(1, mCreated.size()); assertEquals(0, mPool.size());
+    first.release(); assertEquals(1, mPool.size());
+    assertEquals(1, first.mCleared); assertTrue(first.mExpiry > 0L);
+    assertTrue(first.mName.startsWith("Looper"));
+    final Fake second = (Fake) mPool.lease("second");
+    assertSame(first, second); assertEquals(1, mCreated.size());
+    assertEquals("second", second.mName); assertEquals(0L, second.mExpiry);
+    assertEquals(2, second.mLeases); assertEquals(0, mPool.size());
+  }
+
+  @Test public final void testMostRecentFirst() {
+    final LooperPool.Worker first = mPool.lease("first"), second = mPool.lease("second");
+    assertNotSame(first, second); first.release(); second.release();
+    assertSame(second, mPool.lease("third")); assertSame(first, mPool.lease("fourth"));
+    assertEquals(2, mCreated.size());
+  }
+
+  @Test public final void testBusyWorkerIsNotReused() {
+    final Fake worker = (Fake) mPool.lease("worker"); worker.mPending = true;
+    worker.release(); assertTrue(worker.mQuit); assertEquals(0, mPool.size());
+    assertNotSame(worker, mPool.lease("next")); assertEquals(2, mCreated.size());
+  }
+
+  @Test public final void testExpiry() {
+    final Fake first = (Fake) mPool.lease("first"), second = (Fake) mPool.lease("second");
+    first.release(); second.release();
+    mPool.expire(first); assertTrue(first.mQuit); assertEquals(1, mPool.size());
+    assertSame(second, mPool.lease("third"));
+    mPool.expire(second); assertFalse(second.mQuit);
+    assertNotSame(first, mPool.lease("fourth"));
+  }
+
+  /** Fake worker. */
+  private static final class Fake extends LooperPool.Worker {
+
+    /** Thread name. */
+    String mName;
+
+    /** Count of leases and clears. */
+    int mLeases = 1, mCleared = 0;
+
+    /** Armed expiry, millis, zero if not armed. */
+    long mExpiry = 0L;
+
+    /** Messages of others are pending. */
+    boolean mPending = false;
+
+    /** "QUIT" flag-state. */
+    boolean mQuit = false;
+
+    /**
+     * Constructs a new {@link Fake}.
+     *
+     * @param pool owner pool
+     * @param name thread name
+     */
+    Fake(@NonNull LooperPool pool, @NonNull String name) {super(pool); mName = name;}
+
+    /** {@inheritDoc} */
+    @Override @NonNull final Looper looper() {throw new UnsupportedOperationException();}
+
+    /** {@inheritDoc} */
+    @Override @NonNull final Handler handler() {throw new UnsupportedOperationException();}
+
+    /** {@inheritDoc} */
+    @Override final void lease(@NonNull String name) {mName = name; mExpiry = 0L; mLeases++;}
+
+    /** {@inheritDoc} */
+    @Override final boolean clear() {mCleared++; return !mPending;}
+
+    /** {@inheritDoc} */
+    @Override final void park(@NonNull String name) {mName = name;}
+
+    /** {@inheritDoc} */
+    @Override final void expire(long timeout) {mExpiry = timeout;}
+
+    /** {@inheritDoc} */
+    @Override final void quit() {mQuit = true;}
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * MetricsTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Metrics} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class MetricsTest {
+
+  /** Constructs a new {@link MetricsTest} */
+  public MetricsTest() {}
+
+  @Test public final void testWaitIsRecordedForSubmittedTasks() throws InterruptedException {
+    final Metrics metrics = new Metrics();
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, Saturation.abort(), metrics);
+    pool.execute(() -> {}); pool.submit(() -> {}); pool.submit(() -> 1);
+    CompletableFuture.runAsync(() -> {}, pool);
+    pool.shutdown(); assertTrue(pool.awaitTermination(10, SECONDS));
+    final Metrics.Snapshot snapshot = metrics.snapshot();
+    assertEquals(2, snapshot.wait.count); assertEquals(4, snapshot.run.count);
+    assertEquals(4, snapshot.completed); assertEquals(0, snapshot.failed);
+  }
+
+  @Test public final void testPlainTaskIsNotWrapped() throws InterruptedException {
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, Saturation.abort(), new Metrics());
+    final CountDownLatch release = new CountDownLatch(1), started = new CountDownLatch(1);
+    final Runnable task = () -> {};
+    try {
+      pool.execute(() -> {started.countDown();
+        try {release.await();} catch (InterruptedException ignored) {}});
+      assertTrue(started.await(10, SECONDS));
+      pool.execute(task); assertSame(task, pool.getQueue().peek());
+    } finally {release.countDown(); pool.close();}
+  }
+
+  @Test public final void testFailuresAreCounted() throws InterruptedException {
+    final Metrics metrics = new Metrics();
+    final ThreadPool pool = ThreadPool.newSerial((group, target, name, stack) -> {
+      final Thread result = new Thread(group, target, name, stack);
+      result.setUncaughtExceptionHandler((thread, throwable) -> {}); return result;
+    }, Saturation.abort(), metrics);
+    pool.execute(() -> {throw new IllegalStateException();});
+    pool.submit(() -> {throw new IllegalStateException();});
+    pool.submit(() -> {});
+    pool.shutdown(); assertTrue(pool.awaitTermination(10, SECONDS));
+    final Metrics.Snapshot snapshot = metrics.snapshot();
+    assertEquals(3, snapshot.completed); assertEquals(2, snapshot.failed);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * SaturationTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Saturation} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class SaturationTest {
+
+  /** Capacity of the pool queue. */
+  private static final int CAPACITY = 128;
+
+  /** Constructs a new {@link SaturationTest} */
+  public SaturationTest() {}
+
+  @Test public final void testOfferAfterShutdownIsTakenBack() {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor
+        (1, 1, 1, SECONDS, new LinkedBlockingQueue<>(2));
+    final Runnable task = () -> {}; executor.shutdown();
+    assertThrows(RejectedExecutionException.class,
+        () -> Saturation.block(1, SECONDS).saturated(task, executor));
+    assertFalse(executor.getQueue().contains(task));
+  }
+
+  @Test public final void testBlockTimesOut() throws InterruptedException {
+    final Saturation saturation = Saturation.block(10, MILLISECONDS);
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, saturation);
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      fill(pool, release, new AtomicInteger());
+      assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> {}));
+      assertEquals(1, saturation.rejected());
+    } finally {release.countDown(); pool.close();}
+  }
+
+  @Test public final void testSheddingDropsStaleTasks() throws InterruptedException {
+    final Saturation saturation = Saturation.shedding(20, MILLISECONDS);
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, saturation);
+    final CountDownLatch release = new CountDownLatch(1), done = new CountDownLatch(1);
+    final AtomicInteger stale = new AtomicInteger();
+    try {
+      fill(pool, release, stale); Thread.sleep(50);
+      pool.execute(done::countDown); release.countDown();
+      assertTrue(done.await(1, SECONDS));
+      assertEquals(CAPACITY, saturation.shed()); assertEquals(0, stale.get());
+    } finally {pool.close();}
+  }
+
+  @Test public final void testSheddingKeepsFreshTasks() throws InterruptedException {
+    final Saturation saturation = Saturation.shedding(1, TimeUnit.MINUTES);
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, saturation);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger fresh = new AtomicInteger(), dropped = new AtomicInteger();
+    try {
+      fill(pool, release, fresh);
+      pool.execute(dropped::incrementAndGet); release.countDown();
+      pool.shutdown(); assertTrue(pool.awaitTermination(1, SECONDS));
+      assertEquals(1, saturation.shed());
+      assertEquals(CAPACITY, fresh.get()); assertEquals(0, dropped.get());
+    } finally {pool.close();}
+  }
+
+  @Test public final void testDropOldestOnMeteredPool() throws InterruptedException {
+    final Saturation saturation = Saturation.dropOldest();
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, saturation, new Metrics());
+    final CountDownLatch release = new CountDownLatch(1), started = new CountDownLatch(1);
+    final List<Future<?>> futures = new ArrayList<>();
+    try {
+      pool.execute(() -> {started.countDown();
+        try {release.await();} catch (InterruptedException ignored) {}});
+      assertTrue(started.await(1, SECONDS));
+      for (int i = 0; i <= CAPACITY; i++) futures.add(pool.submit(() -> {}));
+      assertEquals(1, saturation.shed()); assertTrue(futures.get(0).isCancelled());
+      final Runnable last = (Runnable) futures.get(CAPACITY);
+      assertTrue(pool.getQueue().stream().noneMatch(task ->
+          task instanceof ThreadPool.Queued && ((ThreadPool.Queued) task).task instanceof ThreadPool.Queued));
+      assertTrue(pool.remove(last)); assertTrue(pool.shutdownNow().contains(futures.get(1)));
+    } finally {release.countDown(); pool.close();}
+  }
+
+  /**
+   * Blocks the only thread of pool and fills the queue.
+   *
+   * @param pool serial pool
+   * @param release latch, that releases the thread
+   * @param counter counter of queued tasks
+   */
+  private static void fill(ThreadPool pool, CountDownLatch release, AtomicInteger counter)
+      throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    pool.execute(() -> {started.countDown();
+      try {release.await();} catch (InterruptedException ignored) {}});
+    assertTrue(started.await(1, SECONDS));
+    for (int i = 0; i < CAPACITY; i++) pool.execute(counter::incrementAndGet);
+  }
+}
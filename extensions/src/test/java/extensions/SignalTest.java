@@ -0,0 +1,98 @@
+/*
+ * SignalTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class SignalTest {
+
+  /** Constructs a new {@link SignalTest} */
+  public SignalTest() {}
+
+  @Test public final void testSetDeliversChangesOnly() {
+    final Signal.Mutable<Integer> signal = Signal.create(1);
+    final List<Integer> values = new ArrayList<>(); signal.observe(values::add);
+    signal.set(1); signal.set(2); signal.set(2); signal.set(3);
+    assertEquals(Arrays.asList(2, 3), values);
+  }
+
+  @Test public final void testUnObserve() {
+    final Signal.Mutable<Integer> signal = Signal.create(1);
+    final List<Integer> values = new ArrayList<>(); final Consumer<Integer> observer = values::add;
+    signal.observe(observer); assertTrue(signal.isActive());
+    signal.set(2); signal.unObserve(observer); assertFalse(signal.isActive());
+    signal.set(3); assertEquals(Arrays.asList(2), values);
+  }
+
+  @Test public final void testMap() {
+    final Signal.Mutable<Integer> signal = Signal.create(1);
+    final Signal<String> mapped = signal.map(String::valueOf);
+    assertEquals("1", mapped.get()); signal.set(2); assertEquals("2", mapped.get());
+    final List<String> values = new ArrayList<>(); mapped.observe(values::add);
+    signal.set(3); signal.set(4); assertEquals(Arrays.asList("3", "4"), values);
+  }
+
+  @Test public final void testTrigger() {
+    final Signal.Mutable<Boolean> flag = Signal.create(true);
+    final Signal.Mutable<String> first = Signal.create("a"), second = Signal.create("b");
+    final Signal<String> triggered = flag.trigger(value -> value ? first : second);
+    final List<String> values = new ArrayList<>(); triggered.observe(values::add);
+    first.set("c"); flag.set(false); first.set("d"); second.set("e");
+    assertEquals(Arrays.asList("c", "b", "e"), values);
+  }
+
+  @Test public final void testCombine() {
+    final Signal.Mutable<Integer> first = Signal.create(1), second = Signal.create(2);
+    final Signal<Integer> sum = Signal.combine(first, second, Integer::sum);
+    final Signal<Integer> all = Signal.combine(Arrays.asList(first, second, sum),
+        items -> items.stream().mapToInt(Integer::intValue).sum());
+    final List<Integer> values = new ArrayList<>(); all.observe(values::add);
+    assertEquals(6, (int) all.get()); first.set(10);
+    assertEquals(24, (int) all.get()); assertEquals(Arrays.asList(15, 24), values);
+  }
+
+  @Test public final void testExecutorDelivery() {
+    final List<Runnable> queue = new ArrayList<>();
+    final Signal.Mutable<Integer> signal = Signal.create(1, queue::add);
+    final List<Integer> values = new ArrayList<>(); signal.observe(values::add);
+    signal.set(2); assertTrue(values.isEmpty()); assertEquals(1, queue.size());
+    queue.forEach(Runnable::run); assertEquals(Arrays.asList(2), values);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * SizerTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import android.support.annotation.NonNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link Sizer} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class SizerTest {
+
+  /** Sampling period, nanos. */
+  private static final long PERIOD = MILLISECONDS.toNanos(100);
+
+  /** One millisecond, nanos. */
+  private static final long MS = MILLISECONDS.toNanos(1);
+
+  /** Controlled pool. */
+  private ThreadPoolExecutor mPool = null;
+
+  /** Constructs a new {@link SizerTest} */
+  public SizerTest() {}
+
+  /** {@inheritDoc} */
+  @BeforeEach public final void setUp()
+  {mPool = new ThreadPoolExecutor(2, 8, 1, SECONDS, new LinkedBlockingQueue<>());}
+
+  /** {@inheritDoc} */
+  @AfterEach public final void tearDown() {mPool.shutdownNow();}
+
+  @Test public final void testInvalidBounds() {
+    assertThrows(IllegalArgumentException.class, () -> Sizer.check(0, 4, 1));
+    assertThrows(IllegalArgumentException.class, () -> Sizer.check(4, 2, 1));
+    assertThrows(IllegalArgumentException.class, () -> Sizer.check(1, 2, 0));
+  }
+
+  @Test public final void testLittlesLaw() {
+    final Sizer sizer = sizer();
+    // 300 tasks of 1 ms within 100 ms: 3 busy threads, 4 with the headroom
+    final Sizer.Decision decision = sizer.sample(mPool, snapshot(0, 0), snapshot(300, 300 * MS), PERIOD);
+    assertEquals(3.0, decision.busy, 1e-9); assertEquals(3000.0, decision.throughput, 1e-6);
+    assertEquals(4, decision.target); assertEquals(4, decision.to); assertEquals(4, mPool.getCorePoolSize());
+    // saturated: bounded by max
+    assertEquals(8, sizer.sample(mPool, snapshot(0, 0), snapshot(2000, 2000 * MS), PERIOD).to);
+  }
+
+  @Test public final void testBacklog() {
+    final ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 8, 1, SECONDS, new LinkedBlockingQueue<>());
+    for (int i = 0; i < 300; i++) pool.getQueue().add(() -> {});
+    try {
+      // idle, but 300 queued tasks of 1 ms are 3 threads for the next period
+      final Sizer.Decision decision = sizer().sample(pool, snapshot(100, 100 * MS),
+          snapshot(100, 100 * MS), PERIOD);
+      assertEquals(300, decision.backlog); assertEquals(3, decision.target);
+    } finally {pool.shutdownNow();}
+  }
+
+  @Test public final void testShrinkHysteresis() {
+    final Sizer sizer = sizer();
+    assertEquals(8, sample(sizer, 800));
+    assertEquals(8, sample(sizer, 150)); assertEquals(8, sample(sizer, 300));
+    assertEquals(4, sample(sizer, 0)); assertEquals(4, mPool.getCorePoolSize());
+    // a sample at the current size restarts the count
+    assertEquals(4, sample(sizer, 0)); assertEquals(4, sample(sizer, 300));
+    assertEquals(4, sample(sizer, 0)); assertEquals(4, sample(sizer, 0));
+    assertEquals(2, sample(sizer, 0));
+  }
+
+  /** @return new sizer of the pool */
+  @NonNull private Sizer sizer()
+  {return new Sizer(mPool, new Metrics(), 2, 8, 100, MILLISECONDS, Sizer.Listener.NONE);}
+
+  /**
+   * @param sizer the sizer
+   * @param tasks count of 1 ms tasks completed within the period
+   *
+   * @return new core size
+   */
+  private int sample(@NonNull Sizer sizer, int tasks)
+  {return sizer.sample(mPool, snapshot(0, 0), snapshot(tasks, tasks * MS), PERIOD).to;}
+
+  /**
+   * @param completed completed tasks
+   * @param run total run time, nanos
+   *
+   * @return metrics snapshot
+   */
+  @NonNull private static Metrics.Snapshot snapshot(long completed, long run) {
+    final Metrics.Distribution none = new Metrics.Distribution(new long[1], 0L, 0L);
+    return new Metrics.Snapshot(none,
+        new Metrics.Distribution(new long[] {completed}, run, 0L), 0, 0, completed, 0L);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * StrandTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class StrandTest {
+
+  /** Number of tasks per strand. */
+  private static final int TASKS = 1000;
+
+  /** Stack frames of a few nested turns. */
+  private static final int QUANTUM_FRAMES = 32;
+
+  /** Shared pool. */
+  private ThreadPool mPool = null;
+
+  /** Constructs a new {@link StrandTest} */
+  public StrandTest() {}
+
+  /** {@inheritDoc} */
+  @BeforeEach public final void setUp()
+  {mPool = ThreadPool.newParallel(Thread::new, Saturation.callerRuns());}
+
+  /** {@inheritDoc} */
+  @AfterEach public final void tearDown() {mPool.close();}
+
+  @Test public final void testFifoOneAtATime() throws InterruptedException {
+    final Strand strand = new Strand(mPool); final List<Integer> order = new ArrayList<>();
+    final AtomicInteger running = new AtomicInteger(); final CountDownLatch latch = new CountDownLatch(TASKS);
+    for (int i = 0; i < TASKS; i++) {final int index = i; strand.execute(() -> {
+      assertEquals(1, running.incrementAndGet()); order.add(index);
+      running.decrementAndGet(); latch.countDown();});}
+    assertTrue(latch.await(10, SECONDS));
+    for (int i = 0; i < TASKS; i++) assertEquals(i, (int) order.get(i));
+  }
+
+  @Test public final void testStrandsShareThePool() throws InterruptedException {
+    final ThreadPool pool = ThreadPool.newSerial(Thread::new, Saturation.abort());
+    final Strand first = new Strand(pool), second = new Strand(pool);
+    final List<Strand> order = new ArrayList<>(); final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch latch = new CountDownLatch(TASKS * 2);
+    try {
+      pool.execute(() -> {try {start.await();} catch (InterruptedException ignored) {}});
+      for (int i = 0; i < TASKS; i++) {
+        first.execute(() -> {order.add(first); latch.countDown();});
+        second.execute(() -> {order.add(second); latch.countDown();});
+      }
+      start.countDown(); assertTrue(latch.await(10, SECONDS));
+    } finally {pool.close();}
+    int run = 0, longest = 0, turns = 0;
+    for (int i = 0; i < order.size(); i++) {
+      if (i > 0 && order.get(i) != order.get(i - 1)) {run = 0; turns++;}
+      longest = Math.max(longest, ++run);
+    }
+    assertTrue(longest <= 16, "longest turn " + longest);
+    assertTrue(turns >= TASKS * 2 / 16 - 1, "turns " + turns);
+  }
+
+  @Test public final void testRefusedDrainIsTakenBack() throws InterruptedException {
+    final AtomicInteger refusals = new AtomicInteger(1);
+    final Strand strand = new Strand(command -> {
+      if (refusals.getAndDecrement() > 0) throw new RejectedExecutionException();
+      mPool.execute(command);
+    });
+    final CountDownLatch latch = new CountDownLatch(1);
+    assertThrows(RejectedExecutionException.class, () -> strand.execute(() -> fail("refused")));
+    assertEquals(0, strand.depth());
+    strand.execute(latch::countDown); assertTrue(latch.await(10, SECONDS));
+  }
+
+  @Test public final void testRefusedTurnRunsInline() throws InterruptedException {
+    final AtomicInteger accepted = new AtomicInteger(1);
+    final Strand strand = new Strand(command -> {
+      if (accepted.getAndDecrement() <= 0) throw new RejectedExecutionException();
+      mPool.execute(command);
+    });
+    final CountDownLatch release = new CountDownLatch(1), latch = new CountDownLatch(TASKS);
+    strand.execute(() -> {try {release.await();} catch (InterruptedException ignored) {}});
+    for (int i = 0; i < TASKS; i++) strand.execute(latch::countDown);
+    release.countDown(); assertTrue(latch.await(10, SECONDS));
+    for (long deadline = System.nanoTime() + SECONDS.toNanos(10);
+        strand.depth() > 0 && System.nanoTime() < deadline;) Thread.yield();
+    assertEquals(0, strand.depth());
+  }
+
+  @Test public final void testCallerRunsDoesNotNest() {
+    final Strand strand = new Strand(Runnable::run);
+    final int[] depth = new int[2];
+    strand.execute(() -> {
+      depth[0] = Thread.currentThread().getStackTrace().length;
+      for (int i = 0; i < TASKS; i++) strand.execute(() -> {});
+      strand.execute(() -> depth[1] = Thread.currentThread().getStackTrace().length);
+    });
+    assertEquals(0, strand.depth());
+    assertTrue(depth[1] - depth[0] < QUANTUM_FRAMES, "nested " + (depth[1] - depth[0]));
+  }
+}
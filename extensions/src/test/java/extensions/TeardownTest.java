@@ -0,0 +1,129 @@
+/*
+ * TeardownTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Teardown} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class TeardownTest {
+
+  /** Constructs a new {@link TeardownTest} */
+  public TeardownTest() {}
+
+  @Test public final void testDependencyOrder() {
+    final List<String> closed = new CopyOnWriteArrayList<>();
+    final Teardown teardown = new Teardown();
+    final Closeable db = () -> closed.add("db"), dao = () -> closed.add("dao"),
+        view = () -> closed.add("view");
+    teardown.register(view, dao); teardown.register(dao, db);
+    teardown.close(Runnable::run);
+    assertEquals(asList("view", "dao", "db"), closed);
+  }
+
+  @Test public final void testIndependentInParallel() throws Exception {
+    final ExecutorService pool = ThreadPool.newParallel(Thread::new, Saturation.callerRuns());
+    try {
+      final CountDownLatch both = new CountDownLatch(2);
+      final Closeable blocking = () -> {
+        both.countDown();
+        try {if (!both.await(1, TimeUnit.SECONDS)) throw new IOException("serial");}
+        catch (InterruptedException exception) {throw new IOException(exception);}
+      };
+      final List<Throwable> errors = new CopyOnWriteArrayList<>();
+      final Teardown teardown = new Teardown();
+      teardown.register(blocking); teardown.register(blocking::close);
+      teardown.listener((closeable, nanos, error) -> {if (error != null) errors.add(error);});
+      teardown.close(pool);
+      assertTrue(errors.isEmpty());
+    } finally {pool.shutdown();}
+  }
+
+  @Test public final void testNestedOnSaturatedExecutor() throws InterruptedException {
+    final ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(2, 2, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    try {
+      final AtomicInteger closed = new AtomicInteger(); final Teardown outer = new Teardown();
+      for (int i = 0; i < 4; i++) {
+        final Teardown inner = new Teardown();
+        for (int j = 0; j < 3; j++) inner.register(closed::incrementAndGet);
+        outer.register(() -> inner.close(pool));
+      }
+      final Thread closing = new Thread(() -> outer.close(pool));
+      closing.start(); closing.join(TimeUnit.SECONDS.toMillis(10));
+      assertFalse(closing.isAlive()); assertEquals(12, closed.get());
+    } finally {pool.shutdownNow();}
+  }
+
+  @Test public final void testCycle() {
+    final Teardown teardown = new Teardown();
+    final Closeable a = () -> {}, b = () -> {};
+    teardown.register(a, b);
+    assertThrows(IllegalArgumentException.class, () -> teardown.register(b, a));
+  }
+
+  @Test public final void testErrorDoesNotStopOthers() {
+    final List<String> closed = new CopyOnWriteArrayList<>();
+    final Teardown teardown = new Teardown();
+    final Closeable failing = () -> {throw new IllegalStateException();};
+    teardown.register(failing, () -> closed.add("next"));
+    assertThrows(IllegalStateException.class, () -> teardown.close(Runnable::run));
+    assertEquals(asList("next"), closed);
+  }
+
+  @Test public final void testListenerErrorDoesNotStopOthers() {
+    final List<String> closed = new CopyOnWriteArrayList<>();
+    final Teardown teardown = new Teardown();
+    final Closeable first = () -> closed.add("first");
+    teardown.register(first, () -> closed.add("next"));
+    teardown.listener((closeable, nanos, error) ->
+    {if (closeable == first) throw new IllegalStateException();});
+    assertThrows(IllegalStateException.class, () -> teardown.close(Runnable::run));
+    assertEquals(asList("first", "next"), closed);
+  }
+}
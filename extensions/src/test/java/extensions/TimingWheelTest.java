@@ -0,0 +1,94 @@
+/*
+ * TimingWheelTest.java
+ * extensions
+ *
+ * Copyright (C) 2018, Gleb Nikitenko. All Rights Reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package extensions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link TimingWheel} Test.
+ *
+ * @author Nikitenko Gleb
+ * @since 1.0, 16/10/2026
+ */
+@SuppressWarnings("WeakerAccess")
+public class TimingWheelTest {
+
+  /** Wheel under test. */
+  private TimingWheel mWheel;
+
+  /** Constructs a new {@link TimingWheelTest} */
+  public TimingWheelTest() {}
+
+  /** {@inheritDoc} */
+  @BeforeEach public final void setUp()
+  {mWheel = new TimingWheel(Thread::new, 5, MILLISECONDS, 8);}
+
+  /** {@inheritDoc} */
+  @AfterEach public final void tearDown() {mWheel.close();}
+
+  @Test public final void testOrder() throws Exception {
+    final List<Integer> fired = new CopyOnWriteArrayList<>();
+    final CountDownLatch latch = new CountDownLatch(3);
+    mWheel.schedule(() -> {fired.add(3); latch.countDown();}, 120, MILLISECONDS);
+    mWheel.schedule(() -> {fired.add(1); latch.countDown();}, 10, MILLISECONDS);
+    mWheel.schedule(() -> {fired.add(2); latch.countDown();}, 50, MILLISECONDS);
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+    assertEquals(asList(1, 2, 3), fired);
+  }
+
+  @Test public final void testCancel() throws Exception {
+    final AtomicInteger fired = new AtomicInteger();
+    final TimingWheel.Timeout timeout =
+        mWheel.schedule(fired::incrementAndGet, 30, MILLISECONDS);
+    assertTrue(timeout.cancel()); assertFalse(timeout.cancel());
+    Thread.sleep(100); assertEquals(0, fired.get());
+    assertTrue(timeout.isCancelled()); assertFalse(timeout.isExpired());
+  }
+
+  @Test public final void testMany() throws Exception {
+    final int count = 100_000; final CountDownLatch latch = new CountDownLatch(count / 2);
+    for (int i = 0; i < count; i++) {
+      final TimingWheel.Timeout timeout =
+          mWheel.schedule(latch::countDown, i % 200, MILLISECONDS);
+      if (i % 2 == 1) timeout.cancel();
+    }
+    assertTrue(latch.await(2, TimeUnit.SECONDS));
+  }
+}